@@ -0,0 +1,169 @@
+package rollingcubes.benchmarks;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of inserting game results into H2 in JDBC batches, comparing
+ * a sequence call per row with the blocks of identifiers allocated by
+ * the pooled optimizer.
+ *
+ * <p>The statements are the ones Hibernate issues for {@code GameResult}:
+ * a {@code NEXT VALUE FOR} call whenever the current block of identifiers is
+ * used up, and a batched {@code INSERT} per transaction. The database is
+ * either embedded, where a sequence call is a method call, or accessed through
+ * the H2 TCP server on the loopback interface, where each call is a round trip.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IdGenerationBenchmark {
+
+    /**
+     * The number of the rows inserted in a transaction.
+     */
+    public static final int BATCH_SIZE = 500;
+
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    /**
+     * The increment of the sequence, {@code 1} for the former plain sequence.
+     */
+    @Param({"1", "50"})
+    public int allocationSize;
+
+    /**
+     * The way the database is accessed, {@code embedded} or {@code tcp}.
+     */
+    @Param({"embedded", "tcp"})
+    public String mode;
+
+    private Server server;
+
+    private Connection connection;
+
+    private PreparedStatement nextValue;
+
+    private PreparedStatement insert;
+
+    private long hi;
+
+    private long next;
+
+    /**
+     * Creates the in-memory database.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String database = "mem:ids" + allocationSize + mode;
+        if (mode.equals("tcp")) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            database = "tcp://localhost:" + server.getPort() + "/" + database;
+        }
+        connection = DriverManager.getConnection("jdbc:h2:" + database, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SEQUENCE hibernate_sequence START WITH 1 INCREMENT BY " + allocationSize);
+            statement.execute("CREATE TABLE GameResult (id BIGINT NOT NULL PRIMARY KEY, created TIMESTAMP NOT NULL, "
+                    + "duration BIGINT NOT NULL, moves VARBINARY(65536), player VARCHAR(255) NOT NULL, "
+                    + "solved BOOLEAN NOT NULL, startState BIGINT, steps INTEGER NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        nextValue = connection.prepareStatement("CALL NEXT VALUE FOR hibernate_sequence");
+        insert = connection.prepareStatement("INSERT INTO GameResult (created, duration, moves, player, solved, "
+                + "startState, steps, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    /**
+     * Empties the table, so that every iteration inserts into the same table size.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE GameResult");
+        }
+        connection.commit();
+    }
+
+    /**
+     * Closes the database.
+     *
+     * @throws SQLException if a database error occurs
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private long nextId() throws SQLException {
+        if (next == hi) {
+            try (ResultSet resultSet = nextValue.executeQuery()) {
+                resultSet.next();
+                hi = resultSet.getLong(1);
+            }
+            next = hi - allocationSize;
+        }
+        return ++next;
+    }
+
+    /**
+     * Inserts a transaction of rows.
+     *
+     * @return the number of the rows inserted by the last JDBC batch
+     * @throws SQLException if a database error occurs
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int[] counts = new int[0];
+        for (int i = 0; i < BATCH_SIZE; ++i) {
+            insert.setTimestamp(1, now);
+            insert.setLong(2, 60_000_000_000L);
+            insert.setBytes(3, new byte[12]);
+            insert.setString(4, "player");
+            insert.setBoolean(5, true);
+            insert.setLong(6, 0L);
+            insert.setInt(7, 44);
+            insert.setLong(8, nextId());
+            insert.addBatch();
+            if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+                counts = insert.executeBatch();
+            }
+        }
+        connection.commit();
+        return counts.length;
+    }
+
+}
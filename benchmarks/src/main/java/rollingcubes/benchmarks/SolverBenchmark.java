@@ -0,0 +1,115 @@
+package rollingcubes.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rollingcubes.analysis.StateSpaceAnalyser;
+import rollingcubes.solver.Heuristic;
+import rollingcubes.solver.PatternDatabaseHeuristic;
+import rollingcubes.solver.Solution;
+import rollingcubes.solver.Solver;
+import rollingcubes.state.PackedState;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of end-to-end solves of a fixed corpus of states.
+ *
+ * <p>The corpus is generated by random walks from the goal states using a fixed
+ * seed, so every run solves the same states. The walks never undo their
+ * previous move. The pattern databases are used
+ * when they are present in {@link PatternDatabaseHeuristic#DEFAULT_DIRECTORY}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+
+    /**
+     * The seed of the corpus.
+     */
+    public static final long SEED = 20200501L;
+
+    /**
+     * The number of the states of the corpus.
+     */
+    public static final int CORPUS_SIZE = 32;
+
+    /**
+     * The number of the random moves made from the goal state.
+     */
+    @Param({"10", "20", "30"})
+    public int scrambleMoves;
+
+    private long[] corpus;
+
+    private Heuristic heuristic;
+
+    private int next;
+
+    /**
+     * Generates the corpus and opens the heuristic.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        heuristic = PatternDatabaseHeuristic.openOrDefault(PatternDatabaseHeuristic.DEFAULT_DIRECTORY);
+        corpus = corpus(SEED, CORPUS_SIZE, scrambleMoves);
+    }
+
+    /**
+     * Returns the states of a corpus.
+     *
+     * @param seed the seed of the random walks
+     * @param size the number of the states
+     * @param moves the number of the moves of a random walk
+     * @return the states of the corpus
+     */
+    public static long[] corpus(long seed, int size, int moves) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] successors = new long[PackedState.MAX_SUCCESSORS];
+        long[] goals = StateSpaceAnalyser.goalStates();
+        long[] corpus = new long[size];
+        for (int i = 0; i < size; ++i) {
+            long packed = goals[random.nextInt(goals.length)];
+            int previousEmpty = -1;
+            for (int k = 0; k < moves; ++k) {
+                int count = PackedState.successors(packed, successors);
+                long successor;
+                do {
+                    successor = successors[random.nextInt(count)];
+                } while (PackedState.getEmptyIndex(successor) == previousEmpty);
+                previousEmpty = PackedState.getEmptyIndex(packed);
+                packed = successor;
+            }
+            corpus[i] = packed;
+        }
+        return corpus;
+    }
+
+    /**
+     * Solves the next state of the corpus.
+     *
+     * @return the solution
+     */
+    @Benchmark
+    public Optional<Solution> solve() {
+        long packed = corpus[next];
+        next = (next + 1) % corpus.length;
+        return new Solver(heuristic, Solver.DEFAULT_MAX_NODES).solve(packed);
+    }
+
+}
@@ -0,0 +1,135 @@
+package rollingcubes.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rollingcubes.state.Cube;
+import rollingcubes.state.Direction;
+import rollingcubes.state.PackedState;
+import rollingcubes.state.RollingCubesState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the operations of the state engine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StateBenchmark {
+
+    private Cube cube;
+
+    private Direction direction;
+
+    private int dx;
+
+    private int dy;
+
+    private RollingCubesState state;
+
+    private long packed;
+
+    /**
+     * Creates the states, the fields prevent constant folding.
+     */
+    @Setup
+    public void setUp() {
+        cube = Cube.CUBE1;
+        direction = Direction.LEFT;
+        dx = 0;
+        dy = -1;
+        state = new RollingCubesState();
+        packed = PackedState.INITIAL;
+    }
+
+    /**
+     * Benchmarks {@link Cube#rollTo(Direction)}.
+     *
+     * @return the rolled cube
+     */
+    @Benchmark
+    public Cube cubeRollTo() {
+        return cube.rollTo(direction);
+    }
+
+    /**
+     * Benchmarks {@link RollingCubesState#rollToEmptySpace(int, int)}. The
+     * dice is rolled there and back, so the state does not change between
+     * the invocations.
+     *
+     * @return the state after the moves
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public RollingCubesState rollToEmptySpace() {
+        state.rollToEmptySpace(0, 0);
+        state.rollToEmptySpace(0, 1);
+        return state;
+    }
+
+    /**
+     * Benchmarks {@link PackedState#rollToEmptySpace(long, int, int)} for
+     * comparison with {@link #rollToEmptySpace()}.
+     *
+     * @return the state after the moves
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public long packedRollToEmptySpace() {
+        return PackedState.rollToEmptySpace(PackedState.rollToEmptySpace(packed, 0, 0), 0, 1);
+    }
+
+    /**
+     * Benchmarks {@link RollingCubesState#clone()}.
+     *
+     * @return the copy of the state
+     */
+    @Benchmark
+    public RollingCubesState cloneState() {
+        return state.clone();
+    }
+
+    /**
+     * Benchmarks {@link RollingCubesState#isSolved()}.
+     *
+     * @return whether the state is solved
+     */
+    @Benchmark
+    public boolean isSolved() {
+        return state.isSolved();
+    }
+
+    /**
+     * Benchmarks {@link PackedState#isSolved(long)} for comparison with
+     * {@link #isSolved()}.
+     *
+     * @return whether the state is solved
+     */
+    @Benchmark
+    public boolean packedIsSolved() {
+        return PackedState.isSolved(packed);
+    }
+
+    /**
+     * Benchmarks {@link Direction#of(int, int)}.
+     *
+     * @return the direction
+     */
+    @Benchmark
+    public Direction directionOf() {
+        return Direction.of(dx, dy);
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks of the state engine and the solver.
+ */
+package rollingcubes.benchmarks;
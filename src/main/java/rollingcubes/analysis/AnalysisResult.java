@@ -0,0 +1,58 @@
+package rollingcubes.analysis;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Class for the result of the exhaustive analysis of the state space.
+ */
+@Value
+public class AnalysisResult {
+
+    /**
+     * The number of the states at each distance from the goal, indexed by
+     * the distance.
+     */
+    long[] histogram;
+
+    /**
+     * Some of the packed states at the greatest distance reached.
+     */
+    List<Long> hardestStates;
+
+    /**
+     * Whether every reachable state has been visited, that is the analysis
+     * has not been stopped by the depth limit or the memory limit.
+     */
+    boolean complete;
+
+    /**
+     * The wall-clock time of the analysis.
+     */
+    Duration wallTime;
+
+    /**
+     * Returns the greatest distance reached.
+     *
+     * @return the greatest distance reached
+     */
+    public int getMaxDepth() {
+        return histogram.length - 1;
+    }
+
+    /**
+     * Returns the number of the states visited.
+     *
+     * @return the number of the states visited
+     */
+    public long getStateCount() {
+        long count = 0;
+        for (long n : histogram) {
+            count += n;
+        }
+        return count;
+    }
+
+}
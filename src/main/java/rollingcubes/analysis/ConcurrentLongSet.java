@@ -0,0 +1,135 @@
+package rollingcubes.analysis;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free set of non-negative {@code long} values with a fixed capacity,
+ * used to record the visited packed states.
+ *
+ * <p>The values are stored in an open-addressing table of an
+ * {@link AtomicLongArray} with linear probing, a slot is claimed by a single
+ * compare-and-set. The set never grows, so its memory usage is bounded by
+ * {@code 8 * capacity} bytes.
+ */
+public class ConcurrentLongSet {
+
+    /**
+     * The maximal fraction of the slots that can be used.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    private static final long FREE = 0;
+
+    private final AtomicLongArray slots;
+
+    private final int mask;
+
+    private final long maxSize;
+
+    private final AtomicLong size = new AtomicLong();
+
+    /**
+     * Creates a {@code ConcurrentLongSet} object.
+     *
+     * @param maxSize the maximal number of the values in the set
+     * @throws IllegalArgumentException if {@code maxSize} is not positive
+     * or it is too large for a single table
+     */
+    public ConcurrentLongSet(long maxSize) {
+        if (maxSize <= 0 || capacityOf(maxSize) > 1 << 30) {
+            throw new IllegalArgumentException();
+        }
+        long capacity = capacityOf(maxSize);
+        this.slots = new AtomicLongArray((int) capacity);
+        this.mask = (int) capacity - 1;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the number of the slots needed for the specified number of
+     * values, that is the memory usage of the set in {@code long}s.
+     *
+     * @param maxSize the maximal number of the values in the set
+     * @return the number of the slots
+     */
+    public static long capacityOf(long maxSize) {
+        return Long.highestOneBit((long) Math.ceil(maxSize / MAX_LOAD_FACTOR)) << 1;
+    }
+
+    /**
+     * Adds the specified value to the set.
+     *
+     * @param value the non-negative value to be added
+     * @return {@code true} if the value has been added, {@code false} if it
+     * was already in the set
+     * @throws IllegalStateException if the set is full
+     */
+    public boolean add(long value) {
+        long stored = value + 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            long current = slots.get(i);
+            if (current == stored) {
+                return false;
+            }
+            if (current == FREE) {
+                if (slots.compareAndSet(i, FREE, stored)) {
+                    if (size.incrementAndGet() > maxSize) {
+                        throw new IllegalStateException("The set is full");
+                    }
+                    return true;
+                }
+                if (slots.get(i) == stored) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the set contains the specified value.
+     *
+     * @param value the value
+     * @return {@code true} if the set contains the value, {@code false} otherwise
+     */
+    public boolean contains(long value) {
+        long stored = value + 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            long current = slots.get(i);
+            if (current == stored) {
+                return true;
+            }
+            if (current == FREE) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the values in the set.
+     *
+     * @return the number of the values in the set
+     */
+    public long size() {
+        return Math.min(size.get(), maxSize);
+    }
+
+    /**
+     * Returns the maximal number of the values in the set.
+     *
+     * @return the maximal number of the values in the set
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    private static int hash(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+
+}
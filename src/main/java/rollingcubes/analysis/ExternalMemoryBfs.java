@@ -0,0 +1,306 @@
+package rollingcubes.analysis;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.PackedState;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Class for the breadth-first search of the state space with delayed duplicate
+ * detection, keeping the layers on disk instead of in memory.
+ *
+ * <p>Every layer is stored as a file of sorted, distinct packed states. The
+ * successors of a layer are collected into sorted runs of at most
+ * {@code runSize} states, the runs are merged, and the states of the two
+ * previous layers are removed during the merge. Since every move can be
+ * undone, no other layer can contain a successor.
+ *
+ * <p>After each layer, the histogram is saved into the progress file, so
+ * that the search can be resumed from the last completed layer after a crash.
+ * Only the last two layers are kept.
+ */
+@Slf4j
+public class ExternalMemoryBfs {
+
+    /**
+     * The default number of the states of a sorted run.
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 24;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final String PROGRESS_FILE = "progress.properties";
+
+    private final Path directory;
+
+    private final int maxDepth;
+
+    private final int runSize;
+
+    private final int hardestStates;
+
+    /**
+     * Creates an {@code ExternalMemoryBfs} object.
+     *
+     * @param directory the directory of the layer files
+     * @param maxDepth the maximal distance from the goal to be explored
+     * @param runSize the maximal number of the states sorted in memory at once
+     * @param hardestStates the number of the hardest states reported
+     */
+    public ExternalMemoryBfs(Path directory, int maxDepth, int runSize, int hardestStates) {
+        this.directory = directory;
+        this.maxDepth = maxDepth;
+        this.runSize = runSize;
+        this.hardestStates = hardestStates;
+    }
+
+    private Path layerFile(int depth) {
+        return directory.resolve(String.format("layer-%03d.bin", depth));
+    }
+
+    private Path runFile(int depth, int run) {
+        return directory.resolve(String.format("layer-%03d.run-%d", depth, run));
+    }
+
+    /**
+     * Stores the last two layers computed in memory, so that the search
+     * continues from them.
+     *
+     * @param histogram the number of the states in each layer computed so far
+     * @param previous the states of the layer before the last one
+     * @param last the states of the last layer
+     * @throws IOException if the files can not be written
+     */
+    public void seed(long[] histogram, long[] previous, long[] last) throws IOException {
+        Files.createDirectories(directory);
+        int depth = histogram.length - 1;
+        if (depth > 0) {
+            writeSorted(previous, layerFile(depth - 1));
+        }
+        writeSorted(last, layerFile(depth));
+        saveProgress(histogram);
+    }
+
+    private void writeSorted(long[] states, Path path) throws IOException {
+        long[] sorted = states.clone();
+        Arrays.parallelSort(sorted);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (LongFileWriter writer = new LongFileWriter(temp, BUFFER_SIZE)) {
+            for (int i = 0; i < sorted.length; ++i) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    writer.write(sorted[i]);
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Runs the search, resuming from the last completed layer if there is one.
+     *
+     * @return the result of the analysis
+     * @throws IOException if the files can not be read or written
+     */
+    public AnalysisResult run() throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        List<Long> histogram = loadProgress();
+        cleanUp(histogram.size() - 1);
+        if (histogram.isEmpty()) {
+            long[] goals = StateSpaceAnalyser.goalStates();
+            writeSorted(goals, layerFile(0));
+            histogram.add((long) goals.length);
+            saveProgress(toArray(histogram));
+        } else {
+            log.info("Resuming from depth {}", histogram.size() - 1);
+        }
+        boolean complete = false;
+        while (histogram.size() <= maxDepth) {
+            int depth = histogram.size() - 1;
+            long count = expand(depth);
+            if (count == 0) {
+                Files.deleteIfExists(layerFile(depth + 1));
+                complete = true;
+                break;
+            }
+            histogram.add(count);
+            saveProgress(toArray(histogram));
+            if (depth > 0) {
+                Files.deleteIfExists(layerFile(depth - 1));
+            }
+            log.info("Depth {}: {} states", depth + 1, count);
+        }
+        int lastDepth = histogram.size() - 1;
+        List<Long> hardest = new ArrayList<>();
+        try (LongFileReader reader = new LongFileReader(layerFile(lastDepth), BUFFER_SIZE)) {
+            while (reader.hasCurrent() && hardest.size() < hardestStates) {
+                hardest.add(reader.current());
+                reader.advance();
+            }
+        }
+        return new AnalysisResult(toArray(histogram), List.copyOf(hardest), complete,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Computes the layer following the specified one.
+     *
+     * @return the number of the states of the new layer
+     */
+    private long expand(int depth) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        long[] buffer = new long[runSize];
+        long[] successors = new long[PackedState.MAX_SUCCESSORS];
+        int size = 0;
+        try (LongFileReader reader = new LongFileReader(layerFile(depth), BUFFER_SIZE)) {
+            for (; reader.hasCurrent(); reader.advance()) {
+                if (size + PackedState.MAX_SUCCESSORS > buffer.length) {
+                    runs.add(writeRun(buffer, size, depth + 1, runs.size()));
+                    size = 0;
+                }
+                int count = PackedState.successors(reader.current(), successors);
+                System.arraycopy(successors, 0, buffer, size, count);
+                size += count;
+            }
+        }
+        if (size > 0) {
+            runs.add(writeRun(buffer, size, depth + 1, runs.size()));
+        }
+        Path temp = directory.resolve(layerFile(depth + 1).getFileName() + ".tmp");
+        long count = merge(runs, depth, temp);
+        Files.move(temp, layerFile(depth + 1), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path run : runs) {
+            Files.delete(run);
+        }
+        return count;
+    }
+
+    private Path writeRun(long[] buffer, int size, int depth, int run) throws IOException {
+        Arrays.parallelSort(buffer, 0, size);
+        Path path = runFile(depth, run);
+        try (LongFileWriter writer = new LongFileWriter(path, BUFFER_SIZE)) {
+            for (int i = 0; i < size; ++i) {
+                if (i == 0 || buffer[i] != buffer[i - 1]) {
+                    writer.write(buffer[i]);
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Merges the sorted runs removing the duplicates and the states of the
+     * specified layer and the one before it.
+     */
+    private long merge(List<Path> runs, int depth, Path target) throws IOException {
+        PriorityQueue<LongFileReader> queue = new PriorityQueue<>(Math.max(runs.size(), 1),
+                (a, b) -> Long.compare(a.current(), b.current()));
+        List<LongFileReader> readers = new ArrayList<>();
+        try (LongFileWriter writer = new LongFileWriter(target, BUFFER_SIZE);
+             LongFileReader current = new LongFileReader(layerFile(depth), BUFFER_SIZE);
+             LongFileReader previous = depth > 0 ? new LongFileReader(layerFile(depth - 1), BUFFER_SIZE) : null) {
+            for (Path run : runs) {
+                LongFileReader reader = new LongFileReader(run, BUFFER_SIZE);
+                readers.add(reader);
+                if (reader.hasCurrent()) {
+                    queue.add(reader);
+                }
+            }
+            boolean first = true;
+            long last = 0;
+            while (! queue.isEmpty()) {
+                LongFileReader reader = queue.remove();
+                long state = reader.current();
+                reader.advance();
+                if (reader.hasCurrent()) {
+                    queue.add(reader);
+                }
+                if (! first && state == last) {
+                    continue;
+                }
+                first = false;
+                last = state;
+                if (! contains(current, state) && (previous == null || ! contains(previous, state))) {
+                    writer.write(state);
+                }
+            }
+            return writer.getCount();
+        } finally {
+            for (LongFileReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static boolean contains(LongFileReader reader, long state) throws IOException {
+        while (reader.hasCurrent() && reader.current() < state) {
+            reader.advance();
+        }
+        return reader.hasCurrent() && reader.current() == state;
+    }
+
+    /**
+     * Removes the files of unfinished layers and the runs left by a crash,
+     * keeping the last two completed layers only.
+     */
+    private void cleanUp(int completedDepth) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "layer-*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int depth = Integer.parseInt(name.substring(6, 9));
+                if (! name.endsWith(".bin") || depth > completedDepth || depth < completedDepth - 1) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private List<Long> loadProgress() throws IOException {
+        Path path = directory.resolve(PROGRESS_FILE);
+        List<Long> histogram = new ArrayList<>();
+        if (Files.exists(path)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path)) {
+                properties.load(reader);
+            }
+            for (String count : properties.getProperty("histogram", "").split(",")) {
+                if (! count.isBlank()) {
+                    histogram.add(Long.parseLong(count.trim()));
+                }
+            }
+        }
+        return histogram;
+    }
+
+    private void saveProgress(long[] histogram) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("depth", Integer.toString(histogram.length - 1));
+        properties.setProperty("histogram", Arrays.stream(histogram)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(",")));
+        Path temp = directory.resolve(PROGRESS_FILE + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            properties.store(writer, "Completed layers of the breadth-first search");
+        }
+        Files.move(temp, directory.resolve(PROGRESS_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long[] toArray(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
+}
@@ -0,0 +1,65 @@
+package rollingcubes.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader of a file of {@code long} values through a {@link FileChannel}.
+ */
+class LongFileReader implements AutoCloseable {
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private long current;
+
+    private boolean hasCurrent;
+
+    LongFileReader(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize - bufferSize % Long.BYTES);
+        buffer.flip();
+        advance();
+    }
+
+    /**
+     * Returns whether there is a current value.
+     */
+    boolean hasCurrent() {
+        return hasCurrent;
+    }
+
+    /**
+     * Returns the current value without consuming it.
+     */
+    long current() {
+        return current;
+    }
+
+    /**
+     * Moves to the next value.
+     */
+    void advance() throws IOException {
+        if (buffer.remaining() < Long.BYTES) {
+            buffer.compact();
+            while (buffer.position() < Long.BYTES && channel.read(buffer) > 0) {
+                // keep reading until a whole value is available
+            }
+            buffer.flip();
+        }
+        hasCurrent = buffer.remaining() >= Long.BYTES;
+        if (hasCurrent) {
+            current = buffer.getLong();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
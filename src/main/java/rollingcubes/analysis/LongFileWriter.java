@@ -0,0 +1,62 @@
+package rollingcubes.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential writer of a file of {@code long} values through a {@link FileChannel}.
+ */
+class LongFileWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private long count;
+
+    LongFileWriter(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize - bufferSize % Long.BYTES);
+    }
+
+    /**
+     * Appends the specified value.
+     */
+    void write(long value) throws IOException {
+        if (! buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.putLong(value);
+        ++count;
+    }
+
+    /**
+     * Returns the number of the values written.
+     */
+    long getCount() {
+        return count;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package rollingcubes.analysis;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.Cube;
+import rollingcubes.state.PackedState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Class for computing the distance of the reachable states from the goal by
+ * a breadth-first search.
+ *
+ * <p>The search starts from the solved states and proceeds layer by layer,
+ * since every move can be undone, the layer {@code d} contains the states
+ * that can be solved in {@code d} moves. Each layer is split across the
+ * workers of a {@link ForkJoinPool}, and the visited states are recorded
+ * in a {@link ConcurrentLongSet}. When the visited states no longer fit into
+ * it and a work directory is set, the search continues on disk with
+ * an {@link ExternalMemoryBfs}.
+ */
+@Slf4j
+public class StateSpaceAnalyser {
+
+    /**
+     * The default number of the hardest states reported.
+     */
+    public static final int DEFAULT_HARDEST_STATES = 10;
+
+    /**
+     * The number of the states of the frontier expanded by a single task.
+     */
+    private static final int THRESHOLD = 4096;
+
+    private final int maxDepth;
+
+    private final long maxStates;
+
+    private final ForkJoinPool pool;
+
+    private final int hardestStates;
+
+    private Path workDirectory;
+
+    /**
+     * Creates a {@code StateSpaceAnalyser} object using the common pool.
+     *
+     * @param maxDepth the maximal distance from the goal to be explored
+     * @param maxStates the maximal number of the visited states kept in memory
+     */
+    public StateSpaceAnalyser(int maxDepth, long maxStates) {
+        this(maxDepth, maxStates, ForkJoinPool.commonPool(), DEFAULT_HARDEST_STATES);
+    }
+
+    /**
+     * Creates a {@code StateSpaceAnalyser} object.
+     *
+     * @param maxDepth the maximal distance from the goal to be explored
+     * @param maxStates the maximal number of the visited states kept in memory
+     * @param pool the pool executing the expansion of the frontier
+     * @param hardestStates the number of the hardest states reported
+     */
+    public StateSpaceAnalyser(int maxDepth, long maxStates, ForkJoinPool pool, int hardestStates) {
+        this.maxDepth = maxDepth;
+        this.maxStates = maxStates;
+        this.pool = pool;
+        this.hardestStates = hardestStates;
+    }
+
+    /**
+     * Sets the directory where the search continues with an {@link ExternalMemoryBfs}
+     * when the visited states no longer fit into memory. Without a work
+     * directory the analysis stops and returns an incomplete result.
+     *
+     * @param workDirectory the directory of the layer files, or {@code null}
+     */
+    public void setWorkDirectory(Path workDirectory) {
+        this.workDirectory = workDirectory;
+    }
+
+    /**
+     * Returns the packed solved states, one for each position of the empty place.
+     *
+     * @return the packed solved states
+     */
+    public static long[] goalStates() {
+        long[] goals = new long[PackedState.CELLS];
+        for (int empty = 0; empty < PackedState.CELLS; ++empty) {
+            int[][] a = new int[PackedState.SIZE][PackedState.SIZE];
+            for (int[] row : a) {
+                Arrays.fill(row, Cube.CUBE2.getValue());
+            }
+            a[empty / PackedState.SIZE][empty % PackedState.SIZE] = Cube.EMPTY.getValue();
+            goals[empty] = PackedState.pack(a);
+        }
+        return goals;
+    }
+
+    /**
+     * Runs the analysis.
+     *
+     * @return the result of the analysis
+     */
+    public AnalysisResult analyse() {
+        long start = System.nanoTime();
+        ConcurrentLongSet visited = new ConcurrentLongSet(maxStates);
+        long[] frontier = goalStates();
+        for (long state : frontier) {
+            visited.add(state);
+        }
+        List<Long> histogram = new ArrayList<>();
+        boolean complete = true;
+        long[] previous = frontier;
+        long[] beforePrevious = new long[0];
+        while (frontier.length > 0) {
+            histogram.add((long) frontier.length);
+            beforePrevious = previous;
+            previous = frontier;
+            log.info("Depth {}: {} states, {} visited", histogram.size() - 1, frontier.length, visited.size());
+            if (histogram.size() > maxDepth) {
+                complete = false;
+                break;
+            }
+            try {
+                frontier = pool.invoke(new ExpandTask(frontier, 0, frontier.length, visited));
+            } catch (IllegalStateException e) {
+                log.warn("The visited states do not fit into memory at depth {}", histogram.size());
+                if (workDirectory != null) {
+                    return continueOnDisk(start, histogram, beforePrevious, previous);
+                }
+                complete = false;
+                break;
+            }
+        }
+        long[] counts = histogram.stream().mapToLong(Long::longValue).toArray();
+        List<Long> hardest = new ArrayList<>();
+        for (int i = 0; i < previous.length && hardest.size() < hardestStates; ++i) {
+            hardest.add(previous[i]);
+        }
+        return new AnalysisResult(counts, List.copyOf(hardest), complete, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private AnalysisResult continueOnDisk(long start, List<Long> histogram, long[] previous, long[] last) {
+        log.info("Switching to external memory search in {}", workDirectory);
+        ExternalMemoryBfs bfs = new ExternalMemoryBfs(workDirectory, maxDepth, ExternalMemoryBfs.DEFAULT_RUN_SIZE,
+                hardestStates);
+        try {
+            bfs.seed(histogram.stream().mapToLong(Long::longValue).toArray(), previous, last);
+            AnalysisResult result = bfs.run();
+            return new AnalysisResult(result.getHistogram(), result.getHardestStates(), result.isComplete(),
+                    Duration.ofNanos(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Task computing the unvisited successors of a range of the frontier.
+     */
+    private static class ExpandTask extends RecursiveTask<long[]> {
+
+        private final long[] frontier;
+        private final int from;
+        private final int to;
+        private final ConcurrentLongSet visited;
+
+        ExpandTask(long[] frontier, int from, int to, ConcurrentLongSet visited) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.visited = visited;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= THRESHOLD) {
+                return expand();
+            }
+            int middle = (from + to) >>> 1;
+            ExpandTask left = new ExpandTask(frontier, from, middle, visited);
+            left.fork();
+            long[] right = new ExpandTask(frontier, middle, to, visited).compute();
+            long[] result = left.join();
+            long[] merged = Arrays.copyOf(result, result.length + right.length);
+            System.arraycopy(right, 0, merged, result.length, right.length);
+            return merged;
+        }
+
+        private long[] expand() {
+            long[] next = new long[(to - from) * PackedState.MAX_SUCCESSORS];
+            long[] successors = new long[PackedState.MAX_SUCCESSORS];
+            int size = 0;
+            for (int i = from; i < to; ++i) {
+                int count = PackedState.successors(frontier[i], successors);
+                for (int k = 0; k < count; ++k) {
+                    if (visited.add(successors[k])) {
+                        next[size++] = successors[k];
+                    }
+                }
+            }
+            return Arrays.copyOf(next, size);
+        }
+
+    }
+
+    /**
+     * Runs the analysis and prints the result.
+     *
+     * @param args the maximal depth, the maximal number of the visited
+     *             states in millions, 12 and 50 by default, and optionally
+     *             the work directory of the external memory search
+     */
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 12;
+        long maxStates = (args.length > 1 ? Long.parseLong(args[1]) : 50) * 1_000_000L;
+        StateSpaceAnalyser analyser = new StateSpaceAnalyser(maxDepth, maxStates);
+        if (args.length > 2) {
+            analyser.setWorkDirectory(Paths.get(args[2]));
+        }
+        AnalysisResult result = analyser.analyse();
+        long[] histogram = result.getHistogram();
+        for (int depth = 0; depth < histogram.length; ++depth) {
+            System.out.printf("%3d %,15d%n", depth, histogram[depth]);
+        }
+        System.out.printf("%,d states in %s%s%n", result.getStateCount(), result.getWallTime(),
+                result.isComplete() ? "" : " (incomplete)");
+        System.out.println("Hardest states found:");
+        for (long state : result.getHardestStates()) {
+            System.out.println(PackedState.toString(state));
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides classes for the exhaustive analysis of the state space of the game.
+ */
+package rollingcubes.analysis;
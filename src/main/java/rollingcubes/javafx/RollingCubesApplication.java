@@ -2,6 +2,7 @@ package rollingcubes.javafx;
 
 import com.gluonhq.ignite.guice.GuiceContext;
 import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.ProvidesIntoSet;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -9,9 +10,16 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import lombok.extern.slf4j.Slf4j;
 import rollingcubes.results.GameResultDao;
+import rollingcubes.results.GameResultWriter;
+import rollingcubes.results.Leaderboard;
+import rollingcubes.results.PlayerStatsDao;
+import util.guice.JpaInitializer;
 import util.guice.PersistenceModule;
+import util.guice.StartupTask;
+import util.jpa.ConnectionPoolMonitor;
 
 import javax.inject.Inject;
+import java.lang.management.ManagementFactory;
 import java.util.List;
 
 @Slf4j
@@ -23,23 +31,62 @@ public class RollingCubesApplication extends Application {
                 protected void configure() {
                      install(new PersistenceModule("rolling-cubes"));
                      bind(GameResultDao.class);
+                     bind(PlayerStatsDao.class);
                  }
+
+                @ProvidesIntoSet
+                StartupTask rebuildPlayerStats(PlayerStatsDao playerStatsDao) {
+                    return playerStatsDao::rebuildIfInconsistent;
+                }
             }
     ));
 
     @Inject
     private FXMLLoader fxmlLoader;
 
+    @Inject
+    private Leaderboard leaderboard;
+
+    @Inject
+    private GameResultWriter gameResultWriter;
+
+    @Inject
+    private ConnectionPoolMonitor connectionPoolMonitor;
+
+    @Inject
+    private JpaInitializer jpaInitializer;
+
     @Override
     public void start(Stage primaryStage) throws Exception {
         log.info("Starting application...");
+        long start = System.nanoTime();
         context.init();
+        long initialized = System.nanoTime();
+        log.info("Guice context initialized in {} ms", (initialized - start) / 1_000_000);
+        jpaInitializer.whenReady().thenRunAsync(leaderboard::warmUp)
+                .exceptionally(e -> {
+                    log.error("Loading the leaderboard failed", e);
+                    return null;
+                });
         fxmlLoader.setLocation(getClass().getResource("/fxml/launch.fxml"));
         Parent root = fxmlLoader.load();
+        long loaded = System.nanoTime();
+        log.info("Launch screen loaded in {} ms", (loaded - initialized) / 1_000_000);
         primaryStage.setTitle("Roll the Dice");
         primaryStage.setResizable(false);
         primaryStage.setScene(new Scene(root));
         primaryStage.show();
+        log.info("First frame shown in {} ms, {} ms after JVM start", (System.nanoTime() - start) / 1_000_000,
+                ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    @Override
+    public void stop() throws Exception {
+        log.info("Writing the remaining results...");
+        gameResultWriter.close();
+        if (jpaInitializer.isReady()) {
+            log.info("Connection pool: {}", connectionPoolMonitor.getMetrics());
+        }
     }
 
 }
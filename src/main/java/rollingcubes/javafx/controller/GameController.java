@@ -16,23 +16,34 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import rollingcubes.results.GameResult;
-import rollingcubes.results.GameResultDao;
+import rollingcubes.results.Leaderboard;
+import rollingcubes.results.MoveLog;
+import rollingcubes.results.replay.ReplayRecorder;
+import rollingcubes.results.replay.ReplayStore;
+import rollingcubes.solver.Hint;
+import rollingcubes.solver.HintService;
+import rollingcubes.state.LoggingMoveListener;
+import rollingcubes.state.MoveListener;
 import rollingcubes.state.RollingCubesState;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.concurrent.Future;
 
 @Slf4j
 public class GameController {
@@ -41,13 +52,23 @@ public class GameController {
     private FXMLLoader fxmlLoader;
 
     @Inject
-    private GameResultDao gameResultDao;
+    private Leaderboard leaderboard;
+
+    @Inject
+    private HintService hintService;
+
+    @Inject
+    private ReplayStore replayStore;
 
     private String playerName;
     private RollingCubesState gameState;
     private IntegerProperty steps = new SimpleIntegerProperty();
     private Instant startTime;
     private List<Image> cubeImages;
+    private final MoveListener moveLogger = new LoggingMoveListener();
+    private long startState;
+    private MoveLog moveLog;
+    private ReplayRecorder replayRecorder;
 
     @FXML
     private Label messageLabel;
@@ -69,6 +90,15 @@ public class GameController {
     @FXML
     private Button giveUpButton;
 
+    @FXML
+    private Button hintButton;
+
+    private Future<?> hintTask;
+
+    private Hint hint;
+
+    private boolean hintShown;
+
     private BooleanProperty gameOver = new SimpleBooleanProperty();
 
     public void setPlayerName(String playerName) {
@@ -90,8 +120,8 @@ public class GameController {
         gameOver.addListener((observable, oldValue, newValue) -> {
             if (newValue) {
                 log.info("End of the game");
-                log.debug("Writing score into the database...");
-                gameResultDao.persist(createGameResult());
+                log.debug("Queueing score to be written into the database...");
+                leaderboard.record(createGameResult(finishRecording()));
                 stopWatchTimeline.stop();
             }
         });
@@ -100,14 +130,59 @@ public class GameController {
 
     private void resetGame() {
         gameState = new RollingCubesState(RollingCubesState.NEAR_GOAL);
+        gameState.addMoveListener(moveLogger);
+        startState = gameState.toPacked();
+        moveLog = new MoveLog();
+        gameState.addMoveListener(moveLog);
+        startRecording();
         steps.set(0);
         startTime = Instant.now();
         gameOver.setValue(false);
         displayGameState();
+        requestHint();
         createStopWatch();
         Platform.runLater(() -> messageLabel.setText("Sok szerencsét, " + playerName + "!"));
     }
 
+    private void startRecording() {
+        if (replayRecorder != null) {
+            try {
+                replayRecorder.discard();
+            } catch (IOException e) {
+                log.warn("Discarding the replay {} failed", replayRecorder.getPath(), e);
+            }
+        }
+        try {
+            replayRecorder = replayStore.startRecording(startState);
+            gameState.addMoveListener(replayRecorder);
+        } catch (IOException e) {
+            log.error("Recording the replay failed", e);
+            replayRecorder = null;
+        }
+    }
+
+    /**
+     * Closes the replay file of the game.
+     *
+     * @return the name of the replay file, or {@code null} if the game has
+     * not been recorded
+     */
+    private String finishRecording() {
+        if (replayRecorder == null) {
+            return null;
+        }
+        String replay = replayRecorder.getPath().getFileName().toString();
+        try {
+            replayRecorder.close();
+            log.debug("{} moves recorded into the replay {}", replayRecorder.size(), replay);
+        } catch (IOException e) {
+            log.error("Closing the replay {} failed", replay, e);
+            replay = null;
+        }
+        replayRecorder = null;
+        return replay;
+    }
+
     private void displayGameState() {
         for (int i = 0; i < 4; i++) {
             for (int j = 0; j < 4; j++) {
@@ -132,16 +207,53 @@ public class GameController {
                 log.info("Player {} has solved the game in {} steps", playerName, steps.get());
                 messageLabel.setText("Gratulálok, " + playerName + "!");
                 resetButton.setDisable(true);
+                hintButton.setDisable(true);
                 giveUpButton.setText("Vége");
             }
+            requestHint();
         }
         displayGameState();
     }
 
+    private void requestHint() {
+        if (hintTask != null) {
+            hintTask.cancel(true);
+        }
+        hint = null;
+        hintShown = false;
+        displayHint();
+        long packed = gameState.toPacked();
+        hintTask = hintService.requestHint(packed, computed -> Platform.runLater(() -> {
+            if (gameState.toPacked() == packed) {
+                hint = computed;
+                displayHint();
+            }
+        }));
+    }
+
+    private void displayHint() {
+        for (Node node : gameGrid.getChildren()) {
+            node.setEffect(null);
+        }
+        if (hintShown && hint != null) {
+            log.debug("Hint: ({}, {}), {} moves left", hint.getMove().getRow(), hint.getMove().getCol(),
+                    hint.getRemainingMoves());
+            Node view = gameGrid.getChildren().get(hint.getMove().getRow() * 4 + hint.getMove().getCol());
+            view.setEffect(new DropShadow(30, Color.GOLD));
+        }
+    }
+
+    public void handleHintButton(ActionEvent actionEvent) {
+        log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
+        hintShown = true;
+        displayHint();
+    }
+
     public void handleResetButton(ActionEvent actionEvent)  {
         log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
         log.info("Creating new game...");
         stopWatchTimeline.stop();
+        hintButton.setDisable(false);
         resetGame();
     }
 
@@ -160,12 +272,16 @@ public class GameController {
         stage.show();
     }
 
-    private GameResult createGameResult() {
+    private GameResult createGameResult(String replay) {
         GameResult result = GameResult.builder()
                 .player(playerName)
                 .solved(gameState.isSolved())
                 .duration(Duration.between(startTime, Instant.now()))
+                .created(ZonedDateTime.now().truncatedTo(GameResult.CREATED_PRECISION))
                 .steps(steps.get())
+                .startState(startState)
+                .moves(moveLog.toByteArray())
+                .replay(replay)
                 .build();
         return result;
     }
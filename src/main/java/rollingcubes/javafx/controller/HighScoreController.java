@@ -1,5 +1,6 @@
 package rollingcubes.javafx.controller;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -11,6 +12,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
@@ -18,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import rollingcubes.results.GameResult;
 import rollingcubes.results.GameResultDao;
+import rollingcubes.results.Leaderboard;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -26,13 +29,28 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 public class HighScoreController {
 
+    /**
+     * The number of the results fetched at once while scrolling.
+     */
+    private static final int PAGE_SIZE = 50;
+
+    /**
+     * The number of the rows before the end of the table at which the next
+     * page is requested.
+     */
+    private static final int PREFETCH_ROWS = 10;
+
     @Inject
     private FXMLLoader fxmlLoader;
 
+    @Inject
+    private Leaderboard leaderboard;
+
     @Inject
     private GameResultDao gameResultDao;
 
@@ -51,10 +69,19 @@ public class HighScoreController {
     @FXML
     private TableColumn<GameResult, ZonedDateTime> created;
 
+    @FXML
+    private Button replayButton;
+
+    private final ObservableList<GameResult> observableResult = FXCollections.observableArrayList();
+
+    private boolean loading;
+
+    private boolean exhausted;
+
     @FXML
     private void initialize() {
         log.debug("Loading high scores...");
-        List<GameResult> highScoreList = gameResultDao.findBest(10);
+        List<GameResult> highScoreList = leaderboard.getTop(10);
 
         player.setCellValueFactory(new PropertyValueFactory<>("player"));
         steps.setCellValueFactory(new PropertyValueFactory<>("steps"));
@@ -92,12 +119,69 @@ public class HighScoreController {
             return cell;
         });
 
-        ObservableList<GameResult> observableResult = FXCollections.observableArrayList();
-        observableResult.addAll(highScoreList);
+        highScoreTable.setRowFactory(table -> new TableRow<GameResult>() {
+            @Override
+            protected void updateItem(GameResult item, boolean empty) {
+                super.updateItem(item, empty);
+                if (! empty && getIndex() >= observableResult.size() - PREFETCH_ROWS) {
+                    loadNextPage();
+                }
+            }
+        });
 
+        replayButton.disableProperty().bind(highScoreTable.getSelectionModel().selectedItemProperty().isNull());
+
+        observableResult.addAll(highScoreList);
+        exhausted = highScoreList.size() < 10;
         highScoreTable.setItems(observableResult);
     }
 
+    /**
+     * Fetches the results following the last row of the table in the
+     * background, and appends them to the table on the JavaFX thread.
+     */
+    private void loadNextPage() {
+        if (loading || exhausted || observableResult.isEmpty()) {
+            return;
+        }
+        loading = true;
+        GameResult last = observableResult.get(observableResult.size() - 1);
+        CompletableFuture.supplyAsync(() -> gameResultDao.findBestAfter(last, PAGE_SIZE))
+                .whenComplete((page, e) -> Platform.runLater(() -> {
+                    loading = false;
+                    if (e != null) {
+                        log.error("Loading high scores failed", e);
+                        exhausted = true;
+                        return;
+                    }
+                    log.debug("{} more high scores loaded", page.size());
+                    exhausted = page.size() < PAGE_SIZE;
+                    observableResult.addAll(page);
+                }));
+    }
+
+    public void handleReplayButton(ActionEvent actionEvent) throws IOException {
+        log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
+        GameResult result = highScoreTable.getSelectionModel().getSelectedItem();
+        log.info("Loading replay scene of the result {}...", result.getId());
+        fxmlLoader.setLocation(getClass().getResource("/fxml/replay.fxml"));
+        Parent root = fxmlLoader.load();
+        fxmlLoader.<ReplayController>getController().setResult(result);
+        Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
+        stage.setScene(new Scene(root));
+        stage.show();
+    }
+
+    public void handlePlayerStatsButton(ActionEvent actionEvent) throws IOException {
+        log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
+        log.info("Loading player statistics scene...");
+        fxmlLoader.setLocation(getClass().getResource("/fxml/playerstats.fxml"));
+        Parent root = fxmlLoader.load();
+        Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
+        stage.setScene(new Scene(root));
+        stage.show();
+    }
+
     public void handleRestartButton(ActionEvent actionEvent) throws IOException {
         log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
         log.info("Loading launch scene...");
@@ -0,0 +1,116 @@
+package rollingcubes.javafx.controller;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Stage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import rollingcubes.results.PlayerStats;
+import rollingcubes.results.PlayerStatsDao;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Slf4j
+public class PlayerStatsController {
+
+    /**
+     * The number of the players presented.
+     */
+    private static final int MAX_PLAYERS = 100;
+
+    @Inject
+    private FXMLLoader fxmlLoader;
+
+    @Inject
+    private PlayerStatsDao playerStatsDao;
+
+    @FXML
+    private TableView<PlayerStats> playerStatsTable;
+
+    @FXML
+    private TableColumn<PlayerStats, String> player;
+
+    @FXML
+    private TableColumn<PlayerStats, Long> gamesPlayed;
+
+    @FXML
+    private TableColumn<PlayerStats, Double> solveRate;
+
+    @FXML
+    private TableColumn<PlayerStats, Duration> bestDuration;
+
+    @FXML
+    private TableColumn<PlayerStats, Duration> medianDuration;
+
+    @FXML
+    private TableColumn<PlayerStats, Double> averageSteps;
+
+    @FXML
+    private void initialize() {
+        log.debug("Loading player statistics...");
+        player.setCellValueFactory(new PropertyValueFactory<>("player"));
+        gamesPlayed.setCellValueFactory(new PropertyValueFactory<>("gamesPlayed"));
+        solveRate.setCellValueFactory(new PropertyValueFactory<>("solveRate"));
+        bestDuration.setCellValueFactory(new PropertyValueFactory<>("bestDuration"));
+        medianDuration.setCellValueFactory(new PropertyValueFactory<>("medianDuration"));
+        averageSteps.setCellValueFactory(new PropertyValueFactory<>("averageSteps"));
+
+        solveRate.setCellFactory(column -> formattingCell(rate -> String.format("%.0f%%", rate * 100)));
+        averageSteps.setCellFactory(column -> formattingCell(steps -> String.format("%.1f", steps)));
+        bestDuration.setCellFactory(column -> formattingCell(PlayerStatsController::formatDuration));
+        medianDuration.setCellFactory(column -> formattingCell(PlayerStatsController::formatDuration));
+
+        CompletableFuture.supplyAsync(() -> playerStatsDao.findMostActive(MAX_PLAYERS))
+                .whenComplete((stats, e) -> Platform.runLater(() -> {
+                    if (e != null) {
+                        log.error("Loading player statistics failed", e);
+                        return;
+                    }
+                    playerStatsTable.setItems(FXCollections.observableArrayList(stats));
+                }));
+    }
+
+    private static String formatDuration(Duration duration) {
+        return DurationFormatUtils.formatDuration(duration.toMillis(), "H:mm:ss");
+    }
+
+    private static <T> TableCell<PlayerStats, T> formattingCell(Function<T, String> formatter) {
+        return new TableCell<PlayerStats, T>() {
+            @Override
+            protected void updateItem(T item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                } else {
+                    setText(formatter.apply(item));
+                }
+            }
+        };
+    }
+
+    public void handleBackButton(ActionEvent actionEvent) throws IOException {
+        log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
+        log.info("Loading high scores scene...");
+        fxmlLoader.setLocation(getClass().getResource("/fxml/highscores.fxml"));
+        Parent root = fxmlLoader.load();
+        Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
+        stage.setScene(new Scene(root));
+        stage.show();
+    }
+
+}
@@ -0,0 +1,216 @@
+package rollingcubes.javafx.controller;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.GridPane;
+import javafx.stage.Stage;
+import javafx.util.StringConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import rollingcubes.results.GameResult;
+import rollingcubes.results.replay.Replay;
+import rollingcubes.results.replay.ReplayStore;
+import rollingcubes.state.PackedState;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+public class ReplayController {
+
+    /**
+     * The playback speeds offered.
+     */
+    private static final List<Integer> SPEEDS = List.of(1, 2, 4, 8, 16);
+
+    @Inject
+    private FXMLLoader fxmlLoader;
+
+    @Inject
+    private ReplayStore replayStore;
+
+    @FXML
+    private Label messageLabel;
+
+    @FXML
+    private GridPane gameGrid;
+
+    @FXML
+    private Label stepsLabel;
+
+    @FXML
+    private Label elapsedLabel;
+
+    @FXML
+    private Slider moveSlider;
+
+    @FXML
+    private Button playButton;
+
+    @FXML
+    private ChoiceBox<Integer> speedChoiceBox;
+
+    private List<Image> cubeImages;
+
+    private Replay replay;
+
+    private Timeline timeline;
+
+    private int moves;
+
+    private boolean updatingSlider;
+
+    @FXML
+    public void initialize() {
+        cubeImages = List.of(
+                new Image(getClass().getResource("/images/cube0.png").toExternalForm()),
+                new Image(getClass().getResource("/images/cube1.png").toExternalForm()),
+                new Image(getClass().getResource("/images/cube2.png").toExternalForm()),
+                new Image(getClass().getResource("/images/cube3.png").toExternalForm()),
+                new Image(getClass().getResource("/images/cube4.png").toExternalForm()),
+                new Image(getClass().getResource("/images/cube5.png").toExternalForm()),
+                new Image(getClass().getResource("/images/cube6.png").toExternalForm())
+        );
+        playButton.setDisable(true);
+        moveSlider.setDisable(true);
+        speedChoiceBox.setItems(FXCollections.observableArrayList(SPEEDS));
+        speedChoiceBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Integer speed) {
+                return speed + "×";
+            }
+
+            @Override
+            public Integer fromString(String string) {
+                return Integer.valueOf(string.replace("×", ""));
+            }
+        });
+        speedChoiceBox.setValue(SPEEDS.get(0));
+        speedChoiceBox.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (timeline != null) {
+                timeline.setRate(newValue);
+            }
+        });
+        moveSlider.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (! updatingSlider && replay != null) {
+                seek(newValue.intValue());
+            }
+        });
+    }
+
+    /**
+     * Loads the replay of the specified result in the background.
+     *
+     * @param result the result to be replayed
+     */
+    public void setResult(GameResult result) {
+        messageLabel.setText(result.getPlayer() + " játéka");
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return replayStore.open(result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((loaded, e) -> Platform.runLater(() -> {
+            if (e != null) {
+                log.error("Loading the replay failed", e);
+                messageLabel.setText("A visszajátszás nem tölthető be");
+                return;
+            }
+            loaded.ifPresentOrElse(this::load, () -> messageLabel.setText("Nincs visszajátszás"));
+        }));
+    }
+
+    private void load(Replay replay) {
+        log.info("Replay of {} moves loaded", replay.size());
+        this.replay = replay;
+        timeline = new Timeline();
+        for (int i = 1; i <= replay.size(); ++i) {
+            int made = i;
+            timeline.getKeyFrames().add(new KeyFrame(toFxDuration(replay.elapsedAt(i)), e -> show(made)));
+        }
+        timeline.setRate(speedChoiceBox.getValue());
+        timeline.setOnFinished(e -> playButton.setText("Lejátszás"));
+        moveSlider.setMax(replay.size());
+        moveSlider.setDisable(false);
+        playButton.setDisable(replay.size() == 0);
+        show(0);
+    }
+
+    /**
+     * Displays the state after the specified number of moves, and continues
+     * the playback from there if it is running.
+     */
+    private void seek(int moves) {
+        show(moves);
+        boolean running = timeline.getStatus() == Animation.Status.RUNNING;
+        timeline.playFrom(toFxDuration(replay.elapsedAt(moves)));
+        if (! running) {
+            timeline.pause();
+        }
+    }
+
+    private void show(int moves) {
+        this.moves = moves;
+        long packed = replay.stateAt(moves);
+        for (int i = 0; i < PackedState.CELLS; i++) {
+            ImageView view = (ImageView) gameGrid.getChildren().get(i);
+            view.setImage(cubeImages.get(PackedState.getValue(packed, i)));
+        }
+        stepsLabel.setText(Integer.toString(moves));
+        elapsedLabel.setText(DurationFormatUtils.formatDuration(replay.elapsedAt(moves).toMillis(), "HH:mm:ss"));
+        updatingSlider = true;
+        moveSlider.setValue(moves);
+        updatingSlider = false;
+    }
+
+    private static javafx.util.Duration toFxDuration(java.time.Duration duration) {
+        return javafx.util.Duration.millis(duration.toMillis());
+    }
+
+    public void handlePlayButton(ActionEvent actionEvent) {
+        log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
+        if (timeline.getStatus() == Animation.Status.RUNNING) {
+            timeline.pause();
+            playButton.setText("Lejátszás");
+            return;
+        }
+        if (moves == replay.size()) {
+            show(0);
+        }
+        timeline.playFrom(toFxDuration(replay.elapsedAt(moves)));
+        playButton.setText("Szünet");
+    }
+
+    public void handleBackButton(ActionEvent actionEvent) throws IOException {
+        log.debug("{} is pressed", ((Button) actionEvent.getSource()).getText());
+        if (timeline != null) {
+            timeline.stop();
+        }
+        log.info("Loading high scores scene...");
+        fxmlLoader.setLocation(getClass().getResource("/fxml/highscores.fxml"));
+        Parent root = fxmlLoader.load();
+        Stage stage = (Stage) ((Node) actionEvent.getSource()).getScene().getWindow();
+        stage.setScene(new Scene(root));
+        stage.show();
+    }
+
+}
@@ -0,0 +1,128 @@
+package rollingcubes.results;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Class for the histogram of durations with the resolution of a second,
+ * from which the median can be computed without the individual values.
+ *
+ * <p>Only the non-empty buckets are stored. The encoded form is a sequence of
+ * unsigned variable-length integers of 7 bits per byte: the number of the
+ * buckets, followed by the difference of the second of each bucket from the
+ * previous one and the count of the bucket.
+ */
+public class DurationHistogram {
+
+    private final TreeMap<Long, Long> buckets = new TreeMap<>();
+
+    private long count;
+
+    /**
+     * Adds a duration to the histogram, rounded down to whole seconds.
+     *
+     * @param duration the duration
+     */
+    public void add(Duration duration) {
+        buckets.merge(duration.getSeconds(), 1L, Long::sum);
+        ++count;
+    }
+
+    /**
+     * Returns the number of the durations added.
+     *
+     * @return the number of the durations added
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the median of the durations, the lower one of the two middle
+     * values if their number is even.
+     *
+     * @return the median of the durations, or {@code null} if the histogram
+     * is empty
+     */
+    public Duration getMedian() {
+        long remaining = (count - 1) / 2;
+        for (Map.Entry<Long, Long> bucket : buckets.entrySet()) {
+            remaining -= bucket.getValue();
+            if (remaining < 0) {
+                return Duration.ofSeconds(bucket.getKey());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the encoded form of the histogram.
+     *
+     * @return the encoded form of the histogram
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarLong(out, buckets.size());
+        long previous = 0;
+        for (Map.Entry<Long, Long> bucket : buckets.entrySet()) {
+            writeVarLong(out, bucket.getKey() - previous);
+            writeVarLong(out, bucket.getValue());
+            previous = bucket.getKey();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a histogram.
+     *
+     * @param bytes the encoded form of the histogram, or {@code null}
+     *              for an empty histogram
+     * @return the histogram
+     * @throws IllegalArgumentException if the array is not a valid encoded
+     * histogram
+     */
+    public static DurationHistogram of(byte[] bytes) {
+        DurationHistogram histogram = new DurationHistogram();
+        if (bytes == null) {
+            return histogram;
+        }
+        int[] offset = {0};
+        long size = readVarLong(bytes, offset);
+        long second = 0;
+        for (long i = 0; i < size; ++i) {
+            second += readVarLong(bytes, offset);
+            long count = readVarLong(bytes, offset);
+            histogram.buckets.put(second, count);
+            histogram.count += count;
+        }
+        if (offset[0] != bytes.length) {
+            throw new IllegalArgumentException("Invalid duration histogram");
+        }
+        return histogram;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long n) {
+        for (; (n & ~0x7FL) != 0; n >>>= 7) {
+            out.write((int) (n & 0x7F | 0x80));
+        }
+        out.write((int) n);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] offset) {
+        long n = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (offset[0] == bytes.length) {
+                break;
+            }
+            int b = bytes[offset[0]++];
+            n |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return n;
+            }
+        }
+        throw new IllegalArgumentException("Invalid duration histogram");
+    }
+
+}
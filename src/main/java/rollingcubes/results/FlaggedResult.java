@@ -0,0 +1,21 @@
+package rollingcubes.results;
+
+import lombok.Value;
+
+/**
+ * Class for a {@link GameResult} rejected by the {@link GameResultVerifier}.
+ */
+@Value
+public class FlaggedResult {
+
+    /**
+     * The rejected result.
+     */
+    GameResult result;
+
+    /**
+     * The reason of the rejection.
+     */
+    Violation violation;
+
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Class for printing the player's results.
@@ -17,10 +18,78 @@ import java.time.ZonedDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = GameResult.BEST_INDEX, columnList = "solved, duration, created DESC, id"),
+        @Index(name = GameResult.CREATED_INDEX, columnList = "solved, created")
+})
+@NamedQuery(name = GameResult.FIND_BEST, query = "SELECT r " + GameResult.BEST_RESULTS + GameResult.BEST_ORDER)
+@NamedQuery(name = GameResult.FIND_BEST_AFTER, query = "SELECT r " + GameResult.BEST_RESULTS
+        + "AND r.duration >= :duration AND (r.duration > :duration OR r.created < :created "
+        + "OR (r.created = :created AND r.id > :id)) " + GameResult.BEST_ORDER)
+@NamedQuery(name = GameResult.FIND_BEST_BETWEEN, query = "SELECT r FROM GameResult r "
+        + "WHERE r.created >= :from AND r.created < :to AND r.solved = true "
+        + "ORDER BY r.duration ASC, r.created DESC, r.id ASC")
+@NamedQuery(name = GameResult.FIND_BEST_SUMMARIES, query = "SELECT NEW rollingcubes.results.GameResultSummary("
+        + "r.player, r.steps, r.duration, r.created) " + GameResult.BEST_RESULTS + GameResult.BEST_ORDER)
 public class GameResult {
 
+    /**
+     * The name of the index serving {@link GameResultDao#findBest(int)}.
+     */
+    public static final String BEST_INDEX = "idx_gameresult_best";
+
+    /**
+     * The name of the index serving
+     * {@link GameResultDao#findBestBetween(ZonedDateTime, ZonedDateTime, int)}.
+     */
+    public static final String CREATED_INDEX = "idx_gameresult_created";
+
+    /**
+     * The name of the query of {@link GameResultDao#findBest(int)}.
+     */
+    public static final String FIND_BEST = "GameResult.findBest";
+
+    /**
+     * The name of the query of {@link GameResultDao#findBestAfter(GameResult, int)}.
+     */
+    public static final String FIND_BEST_AFTER = "GameResult.findBestAfter";
+
+    /**
+     * The name of the query of
+     * {@link GameResultDao#findBestBetween(ZonedDateTime, ZonedDateTime, int)}.
+     */
+    public static final String FIND_BEST_BETWEEN = "GameResult.findBestBetween";
+
+    /**
+     * The name of the query of {@link GameResultDao#findBestSummaries(int)}.
+     */
+    public static final String FIND_BEST_SUMMARIES = "GameResult.findBestSummaries";
+
+    /**
+     * The precision of the {@code TIMESTAMP} column of the creation date.
+     * The dates are truncated to it, so that a result compares the same in
+     * memory and when read back from the database.
+     */
+    public static final ChronoUnit CREATED_PRECISION = ChronoUnit.MICROS;
+
+    /**
+     * The filter of the best results.
+     */
+    static final String BEST_RESULTS = "FROM GameResult r WHERE r.solved = true ";
+
+    /**
+     * The order of the best results. Ordering by the constant {@code solved}
+     * column as well lets the database read the rows in the order of the
+     * {@link #BEST_INDEX} index instead of sorting them. The identifier makes
+     * the order total, so that a page can be continued after its last result.
+     */
+    static final String BEST_ORDER = "ORDER BY r.solved, r.duration ASC, r.created DESC, r.id ASC";
+
+    /**
+     * The identifier allocated in blocks from the sequence declared in {@code orm.xml}.
+     */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gameresult_id")
     private Long id;
 
     /**
@@ -51,9 +120,27 @@ public class GameResult {
     @Column(nullable = false)
     private ZonedDateTime created;
 
+    /**
+     * The packed starting state of the game, see {@link rollingcubes.state.PackedState}.
+     */
+    private Long startState;
+
+    /**
+     * The moves of the game encoded by {@link MoveLog}.
+     */
+    @Column(length = 65536)
+    private byte[] moves;
+
+    /**
+     * The name of the replay file of the game, see
+     * {@link rollingcubes.results.replay.ReplayStore}.
+     */
+    @Column(length = 64)
+    private String replay;
+
     @PrePersist
     protected void onPersist() {
-        created = ZonedDateTime.now();
+        created = (created == null ? ZonedDateTime.now() : created).truncatedTo(CREATED_PRECISION);
     }
 
 }
@@ -2,18 +2,50 @@ package rollingcubes.results;
 
 import com.google.inject.persist.Transactional;
 import util.jpa.GenericJpaDao;
+import util.jpa.KeysetSpliterator;
 
+import javax.inject.Inject;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * DAO for the {@link GameResult} class entity.
  */
 public class GameResultDao extends GenericJpaDao<GameResult> {
 
+    private PlayerStatsDao playerStatsDao;
+
     public GameResultDao() {
         super(GameResult.class);
     }
 
+    /**
+     * Sets the DAO of the player summaries updated with the results persisted.
+     *
+     * @param playerStatsDao the DAO of the player summaries, or {@code null}
+     *                       if the summaries are not maintained
+     */
+    @Inject
+    public void setPlayerStatsDao(PlayerStatsDao playerStatsDao) {
+        this.playerStatsDao = playerStatsDao;
+    }
+
+    /**
+     * Adds the persisted results to the summaries of the players in the same
+     * transaction.
+     *
+     * @param results the results persisted
+     */
+    @Override
+    protected void afterPersist(Collection<? extends GameResult> results) {
+        if (playerStatsDao != null) {
+            playerStatsDao.record(results);
+        }
+    }
+
     /**
      * The best {@code n} results according to how much time it takes to solve the game.
      * The less time to solve the game, the better position the player gets.
@@ -24,7 +56,79 @@ public class GameResultDao extends GenericJpaDao<GameResult> {
      */
     @Transactional
     public List<GameResult> findBest(int n) {
-        return entityManager.createQuery("SELECT r FROM GameResult r WHERE r.solved = true ORDER BY r.duration ASC, r.created DESC", GameResult.class)
+        return getEntityManager().createNamedQuery(GameResult.FIND_BEST, GameResult.class)
+                .setMaxResults(n)
+                .getResultList();
+    }
+
+    /**
+     * The {@code n} results following the specified one in the order of
+     * {@link #findBest(int)}. The position is sought by the duration, the
+     * creation date and the identifier of the result instead of skipping the
+     * rows before it, so every page is read from the index directly. The
+     * creation date is compared at the {@link GameResult#CREATED_PRECISION},
+     * since a result recorded in memory may be more precise than its stored
+     * copy.
+     *
+     * @param last the last result of the previous page, an unsaved result
+     *             without an identifier is taken as the last one with
+     *             the same duration and creation date
+     * @param n the limit of the rows presented in the result table
+     * @return the ordered list of at most {@code n} results following {@code last}
+     */
+    @Transactional
+    public List<GameResult> findBestAfter(GameResult last, int n) {
+        return getEntityManager().createNamedQuery(GameResult.FIND_BEST_AFTER, GameResult.class)
+                .setParameter("duration", last.getDuration())
+                .setParameter("created", last.getCreated().truncatedTo(GameResult.CREATED_PRECISION))
+                .setParameter("id", last.getId() != null ? last.getId() : Long.MAX_VALUE)
+                .setMaxResults(n)
+                .getResultList();
+    }
+
+    /**
+     * The best {@code n} results created in the specified period, in the
+     * order of {@link #findBest(int)}. The results of the period are read by
+     * a range scan of the {@link GameResult#CREATED_INDEX} index and sorted.
+     *
+     * @param from the start of the period, inclusive
+     * @param to the end of the period, exclusive
+     * @param n the limit of the rows presented in the result table
+     * @return the ordered list of at most {@code n} results of the period
+     */
+    @Transactional
+    public List<GameResult> findBestBetween(ZonedDateTime from, ZonedDateTime to, int n) {
+        return getEntityManager().createNamedQuery(GameResult.FIND_BEST_BETWEEN, GameResult.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setMaxResults(n)
+                .getResultList();
+    }
+
+    /**
+     * Returns all the solved results in the order of {@link #findBest(int)}.
+     * The results are fetched lazily by {@link #findBestAfter(GameResult, int)},
+     * a page in a transaction, so only the current page is kept in memory.
+     *
+     * @param pageSize the number of the results fetched at once
+     * @return the ordered {@link Stream} of the solved results
+     */
+    public Stream<GameResult> streamBest(int pageSize) {
+        return StreamSupport.stream(new KeysetSpliterator<GameResult>(
+                last -> last == null ? findBest(pageSize) : findBestAfter(last, pageSize), pageSize), false);
+    }
+
+    /**
+     * The best {@code n} results in the same order as {@link #findBest(int)},
+     * projected to the columns of the high-score table. The entities are not
+     * loaded into the persistence context.
+     *
+     * @param n the limit of the rows presented in the result table
+     * @return the ordered list {@code n} of the best results
+     */
+    @Transactional
+    public List<GameResultSummary> findBestSummaries(int n) {
+        return getEntityManager().createNamedQuery(GameResult.FIND_BEST_SUMMARIES, GameResultSummary.class)
                 .setMaxResults(n)
                 .getResultList();
     }
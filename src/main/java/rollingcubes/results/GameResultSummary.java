@@ -0,0 +1,35 @@
+package rollingcubes.results;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * Class for the columns of a {@link GameResult} shown in the high-score table,
+ * queried without loading managed entities.
+ */
+@Value
+public class GameResultSummary {
+
+    /**
+     * Player's name.
+     */
+    String player;
+
+    /**
+     * The number of steps to solve the game by the player.
+     */
+    int steps;
+
+    /**
+     * Tells, how much time it takes to solve the game.
+     */
+    Duration duration;
+
+    /**
+     * The date, when the game was played.
+     */
+    ZonedDateTime created;
+
+}
@@ -0,0 +1,188 @@
+package rollingcubes.results;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.solver.Heuristic;
+import rollingcubes.solver.PatternDatabaseHeuristic;
+import rollingcubes.solver.TranspositionCache;
+import rollingcubes.state.Direction;
+import rollingcubes.state.PackedState;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Class for verifying game results by replaying their move logs.
+ *
+ * <p>A result is rejected when its starting state is not a valid, unsolved
+ * board, or it is not one of the starting states of the game.
+ *
+ * <p>The moves are replayed on {@link PackedState packed states} following the
+ * rules of {@link rollingcubes.state.RollingCubesState}, without decoding the
+ * log. A solved result is rejected when the replay does not end in a solved
+ * state, or when it needs fewer moves than the optimum. The optimum is taken
+ * from the {@link TranspositionCache} when the starting state is cached,
+ * otherwise it is bounded from below by an admissible heuristic. The results
+ * are verified in parallel batches.
+ */
+@Slf4j
+public class GameResultVerifier {
+
+    /**
+     * The number of the results verified by a single task.
+     */
+    public static final int BATCH_SIZE = 1024;
+
+    /**
+     * The starting states of the games played through the user interface.
+     */
+    public static final Set<Long> GAME_START_STATES = Set.of(PackedState.NEAR_GOAL);
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Heuristic heuristic;
+
+    private final TranspositionCache cache;
+
+    private final ForkJoinPool pool;
+
+    private final Set<Long> startStates;
+
+    /**
+     * Creates a {@code GameResultVerifier} object using the pattern databases
+     * when they are present and the common pool, accepting the
+     * {@link #GAME_START_STATES} only.
+     *
+     * @param cache the cache of the known optimal distances
+     */
+    @Inject
+    public GameResultVerifier(TranspositionCache cache) {
+        this(PatternDatabaseHeuristic.openOrDefault(PatternDatabaseHeuristic.DEFAULT_DIRECTORY), cache,
+                ForkJoinPool.commonPool(), GAME_START_STATES);
+    }
+
+    /**
+     * Creates a {@code GameResultVerifier} object accepting any valid,
+     * unsolved starting state.
+     *
+     * @param heuristic the admissible heuristic bounding the optimum
+     * @param cache the cache of the known optimal distances
+     * @param pool the pool verifying the batches
+     */
+    public GameResultVerifier(Heuristic heuristic, TranspositionCache cache, ForkJoinPool pool) {
+        this(heuristic, cache, pool, Set.of());
+    }
+
+    /**
+     * Creates a {@code GameResultVerifier} object.
+     *
+     * @param heuristic the admissible heuristic bounding the optimum
+     * @param cache the cache of the known optimal distances
+     * @param pool the pool verifying the batches
+     * @param startStates the packed starting states accepted, or an empty set
+     *                    to accept any valid, unsolved starting state
+     */
+    public GameResultVerifier(Heuristic heuristic, TranspositionCache cache, ForkJoinPool pool,
+                              Set<Long> startStates) {
+        this.heuristic = heuristic;
+        this.cache = cache;
+        this.pool = pool;
+        this.startStates = Set.copyOf(startStates);
+    }
+
+    /**
+     * Verifies a single result.
+     *
+     * @param result the result
+     * @return the reason of the rejection, or an empty {@link Optional} if
+     * the result is valid
+     */
+    public Optional<Violation> verify(GameResult result) {
+        byte[] moves = result.getMoves();
+        if (moves == null || result.getStartState() == null) {
+            return Optional.of(Violation.MISSING_LOG);
+        }
+        long start = result.getStartState();
+        if (! isValidStart(start)) {
+            return Optional.of(Violation.INVALID_START);
+        }
+        int count = MoveLog.sizeOf(moves);
+        if (count < 0) {
+            return Optional.of(Violation.INVALID_LOG);
+        }
+        if (count != result.getSteps()) {
+            return Optional.of(Violation.STEP_MISMATCH);
+        }
+        long packed = start;
+        for (int i = 0; i < count; ++i) {
+            int direction = MoveLog.directionOf(moves, count, i);
+            int row = PackedState.getEmptyRow(packed) - DIRECTIONS[direction].getDx();
+            int col = PackedState.getEmptyCol(packed) - DIRECTIONS[direction].getDy();
+            if (row < 0 || row >= PackedState.SIZE || col < 0 || col >= PackedState.SIZE) {
+                return Optional.of(Violation.ILLEGAL_MOVE);
+            }
+            packed = PackedState.roll(packed, row * PackedState.SIZE + col, direction);
+        }
+        if (! result.isSolved()) {
+            return Optional.empty();
+        }
+        if (! PackedState.isSolved(packed)) {
+            return Optional.of(Violation.NOT_SOLVED);
+        }
+        if (count < optimumBound(start)) {
+            return Optional.of(Violation.BEATS_OPTIMUM);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks that the state is a valid packed board, so that the heuristics
+     * can evaluate it, and that it is an accepted, unsolved starting state.
+     */
+    private boolean isValidStart(long start) {
+        if (! startStates.isEmpty() && ! startStates.contains(start)) {
+            return false;
+        }
+        return PackedState.isValid(start) && ! PackedState.isSolved(start);
+    }
+
+    private int optimumBound(long start) {
+        int entry = cache.get(start);
+        return entry == TranspositionCache.MISS ? heuristic.estimate(start) : TranspositionCache.distanceOf(entry);
+    }
+
+    /**
+     * Verifies the specified results in parallel.
+     *
+     * @param results the results
+     * @return the rejected results in the order of {@code results}
+     */
+    public List<FlaggedResult> verifyAll(List<GameResult> results) {
+        long start = System.nanoTime();
+        int batches = (results.size() + BATCH_SIZE - 1) / BATCH_SIZE;
+        List<FlaggedResult> flagged = pool.submit(() -> IntStream.range(0, batches)
+                .parallel()
+                .mapToObj(batch -> verifyBatch(results.subList(batch * BATCH_SIZE,
+                        Math.min((batch + 1) * BATCH_SIZE, results.size()))))
+                .flatMap(List::stream)
+                .collect(Collectors.toList()))
+                .join();
+        log.info("{} results verified, {} flagged in {} ms", results.size(), flagged.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return flagged;
+    }
+
+    private List<FlaggedResult> verifyBatch(List<GameResult> batch) {
+        List<FlaggedResult> flagged = new ArrayList<>();
+        for (GameResult result : batch) {
+            verify(result).ifPresent(violation -> flagged.add(new FlaggedResult(result, violation)));
+        }
+        return flagged;
+    }
+
+}
@@ -0,0 +1,326 @@
+package rollingcubes.results;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class for persisting the game results in the background.
+ *
+ * <p>The submitted results are queued, and a daemon thread persists them in
+ * batches, each batch in a single transaction by
+ * {@link GameResultDao#persistAll(Collection)}. A batch is written when it
+ * reaches the batch size or when its first result has been waiting for the
+ * maximal delay. Submitting a result never blocks, it is rejected when the
+ * queue is full.
+ *
+ * <p>A batch failing to be written is retried with exponential backoff, since
+ * the failure may be transient, such as a lock timeout or the persistence
+ * still starting. When every attempt fails, the results of the batch are
+ * written one by one, so that only the results which can not be written are
+ * dropped. The rejected and dropped results are counted by
+ * {@link #getDroppedCount()}.
+ *
+ * <p>When the writer thread is interrupted, it writes the results still
+ * queued and stops, and the results submitted afterwards are rejected.
+ */
+@Slf4j
+@Singleton
+public class GameResultWriter implements AutoCloseable {
+
+    /**
+     * The default maximal number of the results written in a transaction.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * The default maximal time a result waits before it is written.
+     */
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(1);
+
+    /**
+     * The maximal number of the results waiting to be written.
+     */
+    public static final int QUEUE_CAPACITY = 100_000;
+
+    /**
+     * The number of the attempts to write a batch before it is written result
+     * by result.
+     */
+    public static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * The default time to wait before the first retry, doubled before each
+     * further one.
+     */
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+
+    /**
+     * The element requesting the writer thread to write its batch immediately.
+     */
+    private static final GameResult FLUSH = new GameResult();
+
+    /**
+     * The element requesting the writer thread to write its batch and stop.
+     */
+    private static final GameResult STOP = new GameResult();
+
+    private final GameResultDao gameResultDao;
+
+    private final int batchSize;
+
+    private final long maxDelayNanos;
+
+    private final long initialBackoffMillis;
+
+    private final BlockingQueue<GameResult> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final Thread thread;
+
+    /**
+     * Guards {@link #closed}, {@link #interrupted} and the queue against
+     * submitting after {@link #STOP} or after the writer thread has stopped.
+     */
+    private final Object submitLock = new Object();
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * The number of the results written or dropped, guarded by {@code this}.
+     */
+    private long processed;
+
+    private boolean closed;
+
+    private boolean interrupted;
+
+    /**
+     * Creates a {@code GameResultWriter} object with the default thresholds.
+     *
+     * @param gameResultDao the DAO of the results
+     */
+    @Inject
+    public GameResultWriter(GameResultDao gameResultDao) {
+        this(gameResultDao, DEFAULT_BATCH_SIZE, DEFAULT_MAX_DELAY, DEFAULT_INITIAL_BACKOFF);
+    }
+
+    /**
+     * Creates a {@code GameResultWriter} object with the default backoff.
+     *
+     * @param gameResultDao the DAO of the results
+     * @param batchSize the maximal number of the results written in a transaction
+     * @param maxDelay the maximal time a result waits before it is written
+     */
+    public GameResultWriter(GameResultDao gameResultDao, int batchSize, Duration maxDelay) {
+        this(gameResultDao, batchSize, maxDelay, DEFAULT_INITIAL_BACKOFF);
+    }
+
+    /**
+     * Creates a {@code GameResultWriter} object.
+     *
+     * @param gameResultDao the DAO of the results
+     * @param batchSize the maximal number of the results written in a transaction
+     * @param maxDelay the maximal time a result waits before it is written
+     * @param initialBackoff the time to wait before the first retry of a batch
+     */
+    public GameResultWriter(GameResultDao gameResultDao, int batchSize, Duration maxDelay, Duration initialBackoff) {
+        this.gameResultDao = gameResultDao;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.thread = new Thread(this::run, "result-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues the specified result to be persisted without waiting.
+     *
+     * @param result the result
+     * @return {@code true} if the result has been queued, {@code false} if it
+     * has been rejected since the queue is full or the writer thread has been
+     * interrupted
+     * @throws IllegalStateException if the writer has been closed
+     */
+    public boolean submit(GameResult result) {
+        synchronized (submitLock) {
+            if (closed) {
+                throw new IllegalStateException("The writer is closed");
+            }
+            if (interrupted || ! queue.offer(result)) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            submitted.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of the results rejected or failed to be written.
+     *
+     * @return the number of the results rejected or failed to be written
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Waits until every result submitted before has been written or dropped.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        long target = submitted.get();
+        // A full queue needs no marker, the results submitted before are
+        // followed by enough others to be written in full batches
+        queue.offer(FLUSH);
+        awaitProcessed(target);
+    }
+
+    private synchronized void awaitProcessed(long target) throws InterruptedException {
+        while (processed < target && thread.isAlive()) {
+            wait(100);
+        }
+    }
+
+    /**
+     * Writes the queued results and stops the writer thread. The results
+     * submitted afterwards are rejected.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (submitLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.put(STOP);
+        }
+        thread.join();
+        log.info("Result writer closed, {} results submitted", submitted.get());
+    }
+
+    private void run() {
+        List<GameResult> batch = new ArrayList<>(batchSize);
+        boolean stopped = false;
+        try {
+            while (! stopped) {
+                GameResult next = queue.take();
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (next != null && next != FLUSH) {
+                    if (next == STOP) {
+                        stopped = true;
+                        break;
+                    }
+                    batch.add(next);
+                    if (batch.size() == batchSize) {
+                        break;
+                    }
+                    next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+                write(batch);
+            }
+        } catch (InterruptedException e) {
+            List<GameResult> remaining = new ArrayList<>();
+            synchronized (submitLock) {
+                interrupted = true;
+                queue.drainTo(remaining);
+            }
+            remaining.removeIf(result -> result == FLUSH || result == STOP);
+            log.warn("Result writer interrupted, writing the {} results left", batch.size() + remaining.size());
+            for (GameResult result : remaining) {
+                batch.add(result);
+                if (batch.size() == batchSize) {
+                    write(batch);
+                }
+            }
+            write(batch);
+        }
+    }
+
+    private void write(List<GameResult> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (writeBatch(batch)) {
+            log.debug("{} results written in {} ms", batch.size(), (System.nanoTime() - start) / 1_000_000);
+        } else {
+            writeOneByOne(batch);
+        }
+        synchronized (this) {
+            processed += batch.size();
+            notifyAll();
+        }
+        batch.clear();
+    }
+
+    /**
+     * Writes the batch in a single transaction, retrying with exponential
+     * backoff.
+     *
+     * @return {@code true} if the batch has been written, {@code false} if
+     * every attempt has failed
+     */
+    private boolean writeBatch(List<GameResult> batch) {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; ; ++attempt) {
+            try {
+                gameResultDao.persistAll(batch);
+                return true;
+            } catch (RuntimeException e) {
+                resetIds(batch);
+                if (attempt == MAX_ATTEMPTS) {
+                    log.error("Failed to write {} results in {} attempts, writing them one by one",
+                            batch.size(), attempt, e);
+                    return false;
+                }
+                log.warn("Failed to write {} results, retrying in {} ms", batch.size(), backoff, e);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff *= 2;
+        }
+    }
+
+    private void writeOneByOne(List<GameResult> batch) {
+        for (GameResult result : batch) {
+            try {
+                gameResultDao.persist(result);
+            } catch (RuntimeException e) {
+                result.setId(null);
+                dropped.incrementAndGet();
+                log.error("Failed to write the result of {}, it is dropped", result.getPlayer(), e);
+            }
+        }
+    }
+
+    /**
+     * Resets the identifiers assigned by a rolled back transaction, so that
+     * the results are persisted as new entities again.
+     */
+    private static void resetIds(List<GameResult> batch) {
+        for (GameResult result : batch) {
+            result.setId(null);
+        }
+    }
+
+}
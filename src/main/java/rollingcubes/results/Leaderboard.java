@@ -0,0 +1,322 @@
+package rollingcubes.results;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Class for the in-memory list of the best results in front of
+ * {@link GameResultDao#findBest(int)}.
+ *
+ * <p>The list is loaded once by {@link #warmUp()}, and then it is updated by
+ * each result {@link #record(GameResult) recorded}, so reading it never
+ * touches the database. The recorded results are persisted in the background
+ * by the {@link GameResultWriter}. The readers get an immutable snapshot, which is
+ * replaced on every change.
+ *
+ * <p>The best results of the current day, week and month are kept the same
+ * way, each in a bucket of its {@link TimeWindow}. A bucket is replaced by an
+ * empty one when it is accessed after the end of its period, and it is loaded
+ * by {@link GameResultDao#findBestBetween(ZonedDateTime, ZonedDateTime, int)} on warm-up.
+ */
+@Slf4j
+@Singleton
+public class Leaderboard {
+
+    /**
+     * The default number of the results kept.
+     */
+    public static final int DEFAULT_SIZE = 10;
+
+    /**
+     * The order of the results, the same as of {@link GameResultDao#findBest(int)}.
+     * The results not persisted yet come last among the ties.
+     */
+    public static final Comparator<GameResult> ORDER = Comparator.comparing(GameResult::getDuration)
+            .thenComparing(GameResult::getCreated, Comparator.reverseOrder())
+            .thenComparing(GameResult::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final GameResultDao gameResultDao;
+
+    private final GameResultWriter gameResultWriter;
+
+    private final int size;
+
+    private final Clock clock;
+
+    private volatile List<GameResult> top = List.of();
+
+    /**
+     * The buckets of the current periods indexed by the ordinals of the
+     * {@link TimeWindow} constants.
+     */
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(TimeWindow.values().length);
+
+    /**
+     * The best results of a period.
+     */
+    @Value
+    private static class Bucket {
+        ZonedDateTime start;
+        ZonedDateTime end;
+        List<GameResult> top;
+
+        boolean contains(ZonedDateTime time) {
+            return ! time.isBefore(start) && time.isBefore(end);
+        }
+    }
+
+    /**
+     * Creates a {@code Leaderboard} object keeping {@link #DEFAULT_SIZE} results.
+     *
+     * @param gameResultDao the DAO of the results
+     * @param gameResultWriter the writer persisting the results
+     */
+    @Inject
+    public Leaderboard(GameResultDao gameResultDao, GameResultWriter gameResultWriter) {
+        this(gameResultDao, gameResultWriter, DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a {@code Leaderboard} object.
+     *
+     * @param gameResultDao the DAO of the results
+     * @param gameResultWriter the writer persisting the results
+     * @param size the number of the results kept
+     */
+    public Leaderboard(GameResultDao gameResultDao, GameResultWriter gameResultWriter, int size) {
+        this(gameResultDao, gameResultWriter, size, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a {@code Leaderboard} object.
+     *
+     * @param gameResultDao the DAO of the results
+     * @param gameResultWriter the writer persisting the results
+     * @param size the number of the results kept
+     * @param clock the clock determining the current periods
+     */
+    public Leaderboard(GameResultDao gameResultDao, GameResultWriter gameResultWriter, int size, Clock clock) {
+        this.gameResultDao = gameResultDao;
+        this.gameResultWriter = gameResultWriter;
+        this.size = size;
+        this.clock = clock;
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        for (TimeWindow window : TimeWindow.values()) {
+            buckets.set(window.ordinal(), emptyBucket(window, now));
+        }
+    }
+
+    private static Bucket emptyBucket(TimeWindow window, ZonedDateTime time) {
+        ZonedDateTime start = window.start(time);
+        return new Bucket(start, window.end(start), List.of());
+    }
+
+    /**
+     * Loads the best results from the database. The results offered before
+     * and missing from the loaded ones are kept, so the leaderboard can be
+     * warmed up in the background while the game is already running. Such a
+     * result may already have its identifier, when it has been persisted
+     * after the database was queried.
+     */
+    public void warmUp() {
+        List<GameResult> loaded = gameResultDao.findBest(size);
+        synchronized (this) {
+            List<GameResult> offered = top;
+            top = List.copyOf(loaded);
+            offered.stream()
+                    .filter(result -> ! containsResult(loaded, result))
+                    .forEach(this::offer);
+        }
+        log.info("Leaderboard loaded with {} results", loaded.size());
+        for (TimeWindow window : TimeWindow.values()) {
+            Bucket current = currentBucket(window);
+            ZonedDateTime start = current.getStart();
+            List<GameResult> loadedWindow = gameResultDao.findBestBetween(start, current.getEnd(), size);
+            updateBucket(window, bucket -> {
+                if (! bucket.getStart().isEqual(start)) {
+                    return bucket;
+                }
+                List<GameResult> merged = List.copyOf(loadedWindow);
+                for (GameResult result : bucket.getTop()) {
+                    if (! containsResult(loadedWindow, result)) {
+                        merged = insert(merged, result);
+                    }
+                }
+                return new Bucket(bucket.getStart(), bucket.getEnd(), merged);
+            });
+        }
+    }
+
+    /**
+     * Checks whether the list contains the specified result, either the same
+     * instance or one loaded with the same identifier.
+     */
+    private static boolean containsResult(List<GameResult> results, GameResult result) {
+        for (GameResult r : results) {
+            if (r == result || result.getId() != null && result.getId().equals(r.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the bucket of the current period of the specified window,
+     * replacing the bucket of an earlier period by an empty one.
+     */
+    private Bucket currentBucket(TimeWindow window) {
+        Bucket bucket = buckets.get(window.ordinal());
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        if (now.isBefore(bucket.getEnd())) {
+            return bucket;
+        }
+        buckets.compareAndSet(window.ordinal(), bucket, emptyBucket(window, now));
+        return buckets.get(window.ordinal());
+    }
+
+    private void updateBucket(TimeWindow window, UnaryOperator<Bucket> update) {
+        while (true) {
+            Bucket bucket = currentBucket(window);
+            Bucket updated = update.apply(bucket);
+            if (updated == bucket || buckets.compareAndSet(window.ordinal(), bucket, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds the specified result to the leaderboard if it is solved and good
+     * enough, and queues it to be persisted. The result is visible on the
+     * leaderboard immediately, before it is written to the database.
+     *
+     * @param result the result
+     */
+    public void record(GameResult result) {
+        offer(result);
+        if (! gameResultWriter.submit(result)) {
+            log.error("The result of {} is rejected by the writer, it is dropped", result.getPlayer());
+        }
+    }
+
+    /**
+     * Adds the specified result to the leaderboard if it is solved and good
+     * enough.
+     *
+     * @param result the result
+     */
+    public synchronized void offer(GameResult result) {
+        if (! result.isSolved()) {
+            return;
+        }
+        top = insert(top, result);
+        if (result.getCreated() == null) {
+            return;
+        }
+        for (TimeWindow window : TimeWindow.values()) {
+            updateBucket(window, bucket -> bucket.contains(result.getCreated())
+                    ? new Bucket(bucket.getStart(), bucket.getEnd(), insert(bucket.getTop(), result))
+                    : bucket);
+        }
+    }
+
+    /**
+     * Returns the list with the specified result inserted in its place,
+     * or the same list if the result is not good enough.
+     */
+    private List<GameResult> insert(List<GameResult> results, GameResult result) {
+        if (results.size() == size && ORDER.compare(result, results.get(size - 1)) >= 0) {
+            return results;
+        }
+        List<GameResult> updated = new ArrayList<>(results);
+        int index = 0;
+        while (index < updated.size() && ORDER.compare(updated.get(index), result) <= 0) {
+            ++index;
+        }
+        updated.add(index, result);
+        if (updated.size() > size) {
+            updated.remove(size);
+        }
+        return List.copyOf(updated);
+    }
+
+    /**
+     * Returns the best results without querying the database.
+     *
+     * @param n the maximal number of the results
+     * @return the best {@code n} results, at most as many as the leaderboard keeps
+     */
+    public List<GameResult> getTop(int n) {
+        List<GameResult> snapshot = top;
+        return snapshot.subList(0, Math.min(n, snapshot.size()));
+    }
+
+    /**
+     * Returns the best results of the current period of the specified window
+     * without querying the database.
+     *
+     * @param window the time window
+     * @param n the maximal number of the results
+     * @return the best {@code n} results created in the current period,
+     * at most as many as the leaderboard keeps
+     */
+    public List<GameResult> getTop(TimeWindow window, int n) {
+        List<GameResult> snapshot = currentBucket(window).getTop();
+        return snapshot.subList(0, Math.min(n, snapshot.size()));
+    }
+
+    /**
+     * Checks whether the leaderboard contains the same results as the database.
+     * The results still queued in the {@link GameResultWriter} are written first.
+     * The leaderboard is inconsistent when the writer has dropped a result.
+     *
+     * @return {@code true} if the identifiers of the results, including the
+     * results of the current periods, are the same and in the same order as
+     * queried from the database, {@code false} otherwise
+     */
+    public boolean checkConsistency() {
+        try {
+            gameResultWriter.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (gameResultWriter.getDroppedCount() > 0) {
+            log.warn("{} results could not be written", gameResultWriter.getDroppedCount());
+            return false;
+        }
+        List<Long> expected = ids(gameResultDao.findBest(size));
+        List<Long> actual = ids(top);
+        if (! expected.equals(actual)) {
+            log.warn("Leaderboard {} differs from the database {}", actual, expected);
+            return false;
+        }
+        for (TimeWindow window : TimeWindow.values()) {
+            Bucket bucket = currentBucket(window);
+            expected = ids(gameResultDao.findBestBetween(bucket.getStart(), bucket.getEnd(), size));
+            actual = ids(bucket.getTop());
+            if (! expected.equals(actual)) {
+                log.warn("Leaderboard of the {} {} differs from the database {}", window, actual, expected);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Long> ids(List<GameResult> results) {
+        return results.stream()
+                .map(GameResult::getId)
+                .collect(Collectors.toList());
+    }
+
+}
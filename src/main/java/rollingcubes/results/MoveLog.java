@@ -0,0 +1,164 @@
+package rollingcubes.results;
+
+import rollingcubes.state.Direction;
+import rollingcubes.state.MoveEvent;
+import rollingcubes.state.MoveListener;
+
+import java.util.Arrays;
+
+/**
+ * Class for the compact log of the moves of a game.
+ *
+ * <p>Since the rolled dice is always a neighbour of the empty place, a move
+ * is identified by the {@link Direction} of the roll, which is stored on
+ * 2 bits. The encoded form starts with the number of the moves as an unsigned
+ * variable-length integer of 7 bits per byte, followed by the moves, four per
+ * byte, the first move on the lowest bits.
+ */
+public class MoveLog implements MoveListener {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static final int MOVES_PER_BYTE = 4;
+
+    private byte[] moves = new byte[16];
+
+    private int size;
+
+    /**
+     * Appends a move to the log.
+     *
+     * @param direction the direction of the roll
+     */
+    public void add(Direction direction) {
+        int index = size / MOVES_PER_BYTE;
+        if (index == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[index] |= direction.ordinal() << (size % MOVES_PER_BYTE * 2);
+        ++size;
+    }
+
+    /**
+     * Appends the move described by the event to the log.
+     *
+     * @param event the move made
+     */
+    @Override
+    public void onMove(MoveEvent event) {
+        add(event.getDirection());
+    }
+
+    /**
+     * Returns the number of the moves.
+     *
+     * @return the number of the moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the direction of the specified move.
+     *
+     * @param index the index of the move
+     * @return the direction of the roll
+     * @throws IndexOutOfBoundsException if there is no such move
+     */
+    public Direction get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return DIRECTIONS[directionOf(moves, index)];
+    }
+
+    /**
+     * Returns the encoded form of the log.
+     *
+     * @return the encoded form of the log
+     */
+    public byte[] toByteArray() {
+        int length = (size + MOVES_PER_BYTE - 1) / MOVES_PER_BYTE;
+        byte[] bytes = new byte[headerSize(size) + length];
+        int offset = 0;
+        for (int n = size; ; n >>>= 7) {
+            if (n < 0x80) {
+                bytes[offset++] = (byte) n;
+                break;
+            }
+            bytes[offset++] = (byte) (n & 0x7F | 0x80);
+        }
+        System.arraycopy(moves, 0, bytes, offset, length);
+        return bytes;
+    }
+
+    /**
+     * Decodes a log.
+     *
+     * @param bytes the encoded form of the log
+     * @return the log
+     * @throws IllegalArgumentException if the array is not a valid encoded log
+     */
+    public static MoveLog of(byte[] bytes) {
+        int count = sizeOf(bytes);
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid move log");
+        }
+        MoveLog log = new MoveLog();
+        int offset = headerSize(count);
+        log.moves = Arrays.copyOfRange(bytes, offset, Math.max(offset + 1, bytes.length));
+        log.size = count;
+        return log;
+    }
+
+    /**
+     * Returns the number of the moves of an encoded log.
+     *
+     * @param bytes the encoded form of the log
+     * @return the number of the moves, or {@code -1} if the array is not
+     * a valid encoded log
+     */
+    public static int sizeOf(byte[] bytes) {
+        int count = 0;
+        int offset = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (offset == bytes.length) {
+                return -1;
+            }
+            int b = bytes[offset++];
+            count |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                boolean complete = count >= 0
+                        && bytes.length - offset == (count + MOVES_PER_BYTE - 1) / MOVES_PER_BYTE;
+                return complete ? count : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the ordinal of the direction of a move of an encoded log
+     * without decoding the whole log.
+     *
+     * @param bytes the encoded form of the log
+     * @param count the number of the moves as returned by {@link #sizeOf(byte[])}
+     * @param index the index of the move
+     * @return the ordinal of the direction of the roll
+     */
+    public static int directionOf(byte[] bytes, int count, int index) {
+        return directionOf(bytes, headerSize(count) * MOVES_PER_BYTE + index);
+    }
+
+    private static int directionOf(byte[] bytes, int index) {
+        return (bytes[index / MOVES_PER_BYTE] >>> (index % MOVES_PER_BYTE * 2)) & 0b11;
+    }
+
+    private static int headerSize(int count) {
+        int size = 1;
+        while ((count >>>= 7) != 0) {
+            ++size;
+        }
+        return size;
+    }
+
+}
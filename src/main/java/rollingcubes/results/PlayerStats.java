@@ -0,0 +1,121 @@
+package rollingcubes.results;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Duration;
+
+/**
+ * Class for the summary of the results of a player, updated by every
+ * result persisted instead of being aggregated over the results.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+public class PlayerStats {
+
+    /**
+     * Player's name.
+     */
+    @Id
+    private String player;
+
+    /**
+     * The number of the games played.
+     */
+    private long gamesPlayed;
+
+    /**
+     * The number of the games solved.
+     */
+    private long gamesSolved;
+
+    /**
+     * The total number of the steps of the games solved.
+     */
+    private long totalSteps;
+
+    /**
+     * The shortest duration of the games solved.
+     */
+    private Duration bestDuration;
+
+    /**
+     * The durations of the games solved encoded by {@link DurationHistogram}.
+     */
+    @Column(length = 65536)
+    private byte[] durations;
+
+    /**
+     * Creates a {@code PlayerStats} object of a player without games.
+     *
+     * @param player player's name
+     */
+    public PlayerStats(String player) {
+        this.player = player;
+    }
+
+    /**
+     * Adds the specified result of the player to the summary.
+     *
+     * @param result the result
+     */
+    public void add(GameResult result) {
+        add(result.isSolved(), result.getSteps(), result.getDuration());
+    }
+
+    /**
+     * Adds a game of the player to the summary.
+     *
+     * @param solved the player solved the game or not
+     * @param steps the number of the steps of the game
+     * @param duration the duration of the game
+     */
+    public void add(boolean solved, int steps, Duration duration) {
+        ++gamesPlayed;
+        if (! solved) {
+            return;
+        }
+        ++gamesSolved;
+        totalSteps += steps;
+        if (bestDuration == null || duration.compareTo(bestDuration) < 0) {
+            bestDuration = duration;
+        }
+        DurationHistogram histogram = DurationHistogram.of(durations);
+        histogram.add(duration);
+        durations = histogram.toByteArray();
+    }
+
+    /**
+     * Returns the ratio of the games solved.
+     *
+     * @return the ratio of the games solved, {@code 0} if there are no games
+     */
+    public double getSolveRate() {
+        return gamesPlayed == 0 ? 0 : (double) gamesSolved / gamesPlayed;
+    }
+
+    /**
+     * Returns the average number of the steps of the games solved.
+     *
+     * @return the average number of the steps of the games solved, {@code 0}
+     * if there are no such games
+     */
+    public double getAverageSteps() {
+        return gamesSolved == 0 ? 0 : (double) totalSteps / gamesSolved;
+    }
+
+    /**
+     * Returns the median duration of the games solved, in whole seconds.
+     *
+     * @return the median duration of the games solved, or {@code null}
+     * if there are no such games
+     */
+    public Duration getMedianDuration() {
+        return DurationHistogram.of(durations).getMedian();
+    }
+
+}
@@ -0,0 +1,117 @@
+package rollingcubes.results;
+
+import com.google.inject.persist.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import util.jpa.GenericJpaDao;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * DAO for the {@link PlayerStats} class entity.
+ */
+@Slf4j
+public class PlayerStatsDao extends GenericJpaDao<PlayerStats> {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    public PlayerStatsDao() {
+        super(PlayerStats.class);
+    }
+
+    /**
+     * Adds the specified results to the summaries of their players. Called in
+     * the transaction persisting the results, so the summaries always match
+     * the results.
+     *
+     * @param results the results persisted
+     */
+    @Transactional
+    public void record(Collection<? extends GameResult> results) {
+        Map<String, PlayerStats> stats = new LinkedHashMap<>();
+        EntityManager entityManager = getEntityManager();
+        for (GameResult result : results) {
+            stats.computeIfAbsent(result.getPlayer(), player -> {
+                PlayerStats playerStats = entityManager.find(PlayerStats.class, player);
+                if (playerStats == null) {
+                    playerStats = new PlayerStats(player);
+                    entityManager.persist(playerStats);
+                }
+                return playerStats;
+            }).add(result);
+        }
+    }
+
+    /**
+     * The {@code n} players having played the most games.
+     *
+     * @param n the limit of the rows presented in the table
+     * @return the list of at most {@code n} summaries ordered by the number
+     * of the games played
+     */
+    @Transactional
+    public List<PlayerStats> findMostActive(int n) {
+        return getEntityManager().createQuery(
+                "SELECT s FROM PlayerStats s ORDER BY s.gamesPlayed DESC, s.player", PlayerStats.class)
+                .setMaxResults(n)
+                .getResultList();
+    }
+
+    /**
+     * Recomputes the summaries from the results if they do not account for
+     * every result, for example after the summaries were introduced. It must
+     * not run concurrently with persisting results, so it is run as a
+     * {@link util.guice.StartupTask}.
+     *
+     * @return {@code true} if the summaries have been recomputed
+     */
+    @Transactional
+    public boolean rebuildIfInconsistent() {
+        EntityManager entityManager = getEntityManager();
+        long results = entityManager.createQuery("SELECT COUNT(r) FROM GameResult r", Long.class)
+                .getSingleResult();
+        long summarized = entityManager.createQuery(
+                "SELECT COALESCE(SUM(s.gamesPlayed), 0) FROM PlayerStats s", Long.class)
+                .getSingleResult();
+        if (results == summarized) {
+            return false;
+        }
+        log.info("Player statistics cover {} of {} results, rebuilding", summarized, results);
+        rebuild();
+        return true;
+    }
+
+    /**
+     * Recomputes the summaries of all the players from the results, reading
+     * the results of one player after the other.
+     */
+    @Transactional
+    public void rebuild() {
+        EntityManager entityManager = getEntityManager();
+        entityManager.createQuery("DELETE FROM PlayerStats").executeUpdate();
+        PlayerStats current = null;
+        long count = 0;
+        try (Stream<Object[]> rows = entityManager.createQuery(
+                "SELECT r.player, r.solved, r.steps, r.duration FROM GameResult r ORDER BY r.player", Object[].class)
+                .getResultStream()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                if (current == null || ! current.getPlayer().equals(row[0])) {
+                    current = new PlayerStats((String) row[0]);
+                    entityManager.persist(current);
+                }
+                current.add((Boolean) row[1], (Integer) row[2], (Duration) row[3]);
+                if (++count % REBUILD_BATCH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    current = entityManager.find(PlayerStats.class, current.getPlayer());
+                }
+            }
+        }
+    }
+
+}
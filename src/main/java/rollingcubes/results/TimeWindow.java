@@ -0,0 +1,74 @@
+package rollingcubes.results;
+
+import java.time.DayOfWeek;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Enum for the periods of the time-windowed leaderboards.
+ */
+public enum TimeWindow {
+
+    /**
+     * The calendar day.
+     */
+    DAY {
+        @Override
+        public ZonedDateTime start(ZonedDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS);
+        }
+
+        @Override
+        public ZonedDateTime end(ZonedDateTime start) {
+            return start.plusDays(1);
+        }
+    },
+
+    /**
+     * The calendar week starting on Monday.
+     */
+    WEEK {
+        @Override
+        public ZonedDateTime start(ZonedDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public ZonedDateTime end(ZonedDateTime start) {
+            return start.plusWeeks(1);
+        }
+    },
+
+    /**
+     * The calendar month.
+     */
+    MONTH {
+        @Override
+        public ZonedDateTime start(ZonedDateTime time) {
+            return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+
+        @Override
+        public ZonedDateTime end(ZonedDateTime start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    /**
+     * Returns the start of the period containing the specified time.
+     *
+     * @param time the time
+     * @return the start of the period containing {@code time}
+     */
+    public abstract ZonedDateTime start(ZonedDateTime time);
+
+    /**
+     * Returns the end of the period, which is the start of the next one.
+     *
+     * @param start the start of the period
+     * @return the end of the period, exclusive
+     */
+    public abstract ZonedDateTime end(ZonedDateTime start);
+
+}
@@ -0,0 +1,45 @@
+package rollingcubes.results;
+
+/**
+ * Enum for the reasons a {@link GameResult} is rejected by the
+ * {@link GameResultVerifier}.
+ */
+public enum Violation {
+
+    /**
+     * The result has no move log or starting state.
+     */
+    MISSING_LOG,
+
+    /**
+     * The starting state is not a valid, unsolved board, or it is not a
+     * starting state of the game.
+     */
+    INVALID_START,
+
+    /**
+     * The move log can not be decoded.
+     */
+    INVALID_LOG,
+
+    /**
+     * A move of the log rolls a dice from outside of the board.
+     */
+    ILLEGAL_MOVE,
+
+    /**
+     * The number of the steps differs from the number of the moves logged.
+     */
+    STEP_MISMATCH,
+
+    /**
+     * The result is marked solved, but the moves do not solve the game.
+     */
+    NOT_SOLVED,
+
+    /**
+     * The game has been solved in fewer moves than possible.
+     */
+    BEATS_OPTIMUM
+
+}
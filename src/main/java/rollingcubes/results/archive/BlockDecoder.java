@@ -0,0 +1,76 @@
+package rollingcubes.results.archive;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * Decoder of the columns of a block written by {@link BlockEncoder}.
+ */
+class BlockDecoder {
+
+    private final ByteBuffer buffer;
+
+    BlockDecoder(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    long readVarLong() throws IOException {
+        long n = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = get();
+            n |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return n;
+            }
+        }
+        throw new IOException("Invalid variable-length integer");
+    }
+
+    long readZigZag() throws IOException {
+        long n = readVarLong();
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    int readLength() throws IOException {
+        long n = readVarLong();
+        if (n > buffer.remaining()) {
+            throw new IOException("Invalid length " + n);
+        }
+        return (int) n;
+    }
+
+    BitSet readBits(int count) throws IOException {
+        byte[] array = new byte[(count + 7) / 8];
+        get(array);
+        return BitSet.valueOf(array);
+    }
+
+    byte[] readBytes() throws IOException {
+        byte[] array = new byte[readLength()];
+        get(array);
+        return array;
+    }
+
+    boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private int get() throws IOException {
+        try {
+            return buffer.get();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of block", e);
+        }
+    }
+
+    private void get(byte[] array) throws IOException {
+        try {
+            buffer.get(array);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of block", e);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package rollingcubes.results.archive;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Growable buffer encoding the columns of a block.
+ */
+class BlockEncoder {
+
+    private byte[] bytes = new byte[1 << 16];
+
+    private int size;
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+        }
+    }
+
+    /**
+     * Writes an unsigned variable-length integer of 7 bits per byte.
+     */
+    void writeVarLong(long n) {
+        ensureCapacity(10);
+        for (; (n & ~0x7FL) != 0; n >>>= 7) {
+            bytes[size++] = (byte) (n & 0x7F | 0x80);
+        }
+        bytes[size++] = (byte) n;
+    }
+
+    /**
+     * Writes a signed integer zigzag encoded, so that the values close to
+     * zero take few bytes.
+     */
+    void writeZigZag(long n) {
+        writeVarLong((n << 1) ^ (n >> 63));
+    }
+
+    /**
+     * Writes the first {@code count} bits of the set, eight per byte.
+     */
+    void writeBits(BitSet bits, int count) {
+        int length = (count + 7) / 8;
+        ensureCapacity(length);
+        byte[] array = bits.toByteArray();
+        System.arraycopy(array, 0, bytes, size, Math.min(array.length, length));
+        size += length;
+    }
+
+    void writeBytes(byte[] array) {
+        writeVarLong(array.length);
+        ensureCapacity(array.length);
+        System.arraycopy(array, 0, bytes, size, array.length);
+        size += array.length;
+    }
+
+    byte[] array() {
+        return bytes;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void reset() {
+        size = 0;
+    }
+
+}
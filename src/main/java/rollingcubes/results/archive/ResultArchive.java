@@ -0,0 +1,238 @@
+package rollingcubes.results.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.results.GameResult;
+import util.jpa.JdbcConnections;
+import util.jpa.SchemaMigrator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Class for exporting the game results of a database into a compact binary
+ * archive and importing them from it.
+ *
+ * <p>The archive starts with the magic number {@code RTDA} and the version of
+ * the format, followed by blocks of at most {@link #DEFAULT_BLOCK_ROWS} rows
+ * and an empty block marking the end. A block consists of the number of its
+ * rows, the size of its encoded columns, the columns and the CRC-32C of all
+ * these. The columns are stored one after the other, using unsigned
+ * variable-length integers of 7 bits per byte:
+ * <ul>
+ *     <li>the identifiers and the creation dates in microseconds, each as
+ *     the zigzag encoded difference from the previous row,</li>
+ *     <li>the durations in nanoseconds and the steps,</li>
+ *     <li>the solved flags as a bit set,</li>
+ *     <li>the distinct player names of the block in UTF-8, followed by the
+ *     index of the name of each row,</li>
+ *     <li>the start states and the move logs, each preceded by the bit set
+ *     of the rows having one.</li>
+ * </ul>
+ *
+ * <p>The rows are read from the database in pages of a block by their
+ * identifiers, bypassing the persistence context, so the memory used does
+ * not depend on the size of the table.
+ */
+@Slf4j
+public class ResultArchive {
+
+    /**
+     * The magic number at the start of an archive, {@code RTDA}.
+     */
+    public static final int MAGIC = 0x52544441;
+
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The default number of the rows of a block.
+     */
+    public static final int DEFAULT_BLOCK_ROWS = 4096;
+
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    static final int BLOCK_HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final String COLUMNS = "id, player, solved, steps, duration, created, startState, moves";
+
+    private ResultArchive() {
+    }
+
+    static long toEpochMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    static Instant ofEpochMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * Writes all the results of the database into an archive, in the order
+     * of their identifiers. The file is deleted if the export fails, so an
+     * interrupted export does not leave an archive behind.
+     *
+     * @param connection the connection to the database
+     * @param path the file of the archive
+     * @return the number of the results exported
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the file can not be written
+     */
+    public static long exportTo(Connection connection, Path path) throws SQLException, IOException {
+        try (ResultArchiveWriter writer = new ResultArchiveWriter(path);
+             PreparedStatement statement = connection.prepareStatement("SELECT " + COLUMNS
+                     + " FROM GameResult WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY")) {
+            long last = Long.MIN_VALUE;
+            int rows;
+            do {
+                statement.setLong(1, last);
+                statement.setInt(2, DEFAULT_BLOCK_ROWS);
+                rows = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        GameResult result = toResult(resultSet);
+                        writer.write(result);
+                        last = result.getId();
+                        ++rows;
+                    }
+                }
+            } while (rows == DEFAULT_BLOCK_ROWS);
+            writer.finish();
+            log.info("{} results exported to {}", writer.getCount(), path);
+            return writer.getCount();
+        } catch (SQLException | IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static GameResult toResult(ResultSet resultSet) throws SQLException {
+        GameResult result = GameResult.builder()
+                .id(resultSet.getLong("id"))
+                .player(resultSet.getString("player"))
+                .solved(resultSet.getBoolean("solved"))
+                .steps(resultSet.getInt("steps"))
+                .duration(Duration.ofNanos(resultSet.getLong("duration")))
+                .created(ZonedDateTime.ofInstant(resultSet.getTimestamp("created").toInstant(), ZoneId.systemDefault()))
+                .moves(resultSet.getBytes("moves"))
+                .build();
+        long startState = resultSet.getLong("startState");
+        result.setStartState(resultSet.wasNull() ? null : startState);
+        return result;
+    }
+
+    /**
+     * Writes the results of an archive into the database, keeping their
+     * identifiers, a block in a transaction. A result already in the
+     * database is overwritten, so an archive can be imported again after an
+     * interruption. The identifier sequence is moved past the identifiers
+     * imported. The application must not be running meanwhile.
+     *
+     * @param connection the connection to the database
+     * @param path the file of the archive
+     * @return the number of the results imported
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if the file can not be read or it is corrupted
+     */
+    public static long importFrom(Connection connection, Path path) throws SQLException, IOException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long count = 0;
+        long maxId = 0;
+        try (ResultArchiveReader reader = new ResultArchiveReader(path);
+             PreparedStatement statement = connection.prepareStatement("MERGE INTO GameResult (" + COLUMNS
+                     + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (List<GameResult> block = reader.readBlock(); ! block.isEmpty(); block = reader.readBlock()) {
+                for (GameResult result : block) {
+                    bind(statement, result);
+                    statement.addBatch();
+                    maxId = Math.max(maxId, result.getId());
+                }
+                statement.executeBatch();
+                connection.commit();
+                count += block.size();
+            }
+            advanceSequence(connection, maxId);
+            connection.commit();
+        } catch (SQLException | IOException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        log.info("{} results imported from {}", count, path);
+        return count;
+    }
+
+    private static void bind(PreparedStatement statement, GameResult result) throws SQLException {
+        statement.setLong(1, result.getId());
+        statement.setString(2, result.getPlayer());
+        statement.setBoolean(3, result.isSolved());
+        statement.setInt(4, result.getSteps());
+        statement.setLong(5, result.getDuration().toNanos());
+        statement.setTimestamp(6, Timestamp.from(result.getCreated().toInstant()));
+        if (result.getStartState() != null) {
+            statement.setLong(7, result.getStartState());
+        } else {
+            statement.setNull(7, Types.BIGINT);
+        }
+        if (result.getMoves() != null) {
+            statement.setBytes(8, result.getMoves());
+        } else {
+            statement.setNull(8, Types.BINARY);
+        }
+    }
+
+    /**
+     * Restarts the identifier sequence so that the blocks allocated from it
+     * are above the specified identifier.
+     */
+    private static void advanceSequence(Connection connection, long maxId) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT current_value, increment "
+                     + "FROM information_schema.sequences WHERE UPPER(sequence_name) = 'HIBERNATE_SEQUENCE'")) {
+            if (! resultSet.next()) {
+                throw new SQLException("The identifier sequence does not exist");
+            }
+            long current = resultSet.getLong(1);
+            long increment = resultSet.getLong(2);
+            if (current < maxId) {
+                statement.execute("ALTER SEQUENCE hibernate_sequence RESTART WITH " + (maxId + increment));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws SQLException, IOException {
+        if (args.length < 2 || ! List.of("export", "import").contains(args[0])) {
+            System.err.println("Usage: ResultArchive export|import <file> [persistence-unit]");
+            System.exit(1);
+        }
+        Path path = Paths.get(args[1]);
+        try (Connection connection = JdbcConnections.open(args.length > 2 ? args[2] : "rolling-cubes")) {
+            new SchemaMigrator().migrate(connection);
+            long count = args[0].equals("export") ? exportTo(connection, path) : importFrom(connection, path);
+            System.out.printf("%d results %sed%n", count, args[0]);
+        }
+    }
+
+}
@@ -0,0 +1,176 @@
+package rollingcubes.results.archive;
+
+import rollingcubes.results.GameResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Class for reading the results from an archive written by
+ * {@link ResultArchiveWriter}, a block at a time.
+ */
+public class ResultArchiveReader implements AutoCloseable {
+
+    /**
+     * The maximal size of the encoded columns of a block accepted.
+     */
+    private static final int MAX_BLOCK_SIZE = 1 << 28;
+
+    private final FileChannel channel;
+
+    private final ZoneId zone;
+
+    private final CRC32C checksum = new CRC32C();
+
+    private boolean finished;
+
+    /**
+     * Creates a {@code ResultArchiveReader} object returning the creation
+     * dates in the default time-zone.
+     *
+     * @param path the file of the archive
+     * @throws IOException if the file can not be read or it is not an archive
+     */
+    public ResultArchiveReader(Path path) throws IOException {
+        this(path, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates a {@code ResultArchiveReader} object.
+     *
+     * @param path the file of the archive
+     * @param zone the time-zone of the creation dates returned
+     * @throws IOException if the file can not be read or it is not an archive
+     */
+    public ResultArchiveReader(Path path, ZoneId zone) throws IOException {
+        this.zone = zone;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = readFully(ResultArchive.HEADER_SIZE);
+            if (header.getInt() != ResultArchive.MAGIC) {
+                throw new IOException("Not a result archive: " + path);
+            }
+            int version = header.getInt();
+            if (version != ResultArchive.VERSION) {
+                throw new IOException("Unsupported archive version " + version);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next block of results.
+     *
+     * @return the results of the next block, or an empty list at the end of
+     * the archive
+     * @throws IOException if the file can not be read, it is truncated,
+     * or the checksum of the block does not match
+     */
+    public List<GameResult> readBlock() throws IOException {
+        if (finished) {
+            return List.of();
+        }
+        ByteBuffer header = readFully(ResultArchive.BLOCK_HEADER_SIZE);
+        int rows = header.getInt();
+        int size = header.getInt();
+        if (rows < 0 || size < 0 || size > MAX_BLOCK_SIZE) {
+            throw new IOException("Invalid block header");
+        }
+        ByteBuffer payload = readFully(size);
+        int expected = readFully(Integer.BYTES).getInt();
+        checksum.reset();
+        checksum.update(header.array(), 0, ResultArchive.BLOCK_HEADER_SIZE);
+        checksum.update(payload.array(), 0, size);
+        if ((int) checksum.getValue() != expected) {
+            throw new IOException("Checksum mismatch in block at offset "
+                    + (channel.position() - size - ResultArchive.BLOCK_HEADER_SIZE - Integer.BYTES));
+        }
+        if (rows == 0) {
+            finished = true;
+            return List.of();
+        }
+        BlockDecoder decoder = new BlockDecoder(payload);
+        List<GameResult> results = decode(decoder, rows);
+        if (decoder.hasRemaining()) {
+            throw new IOException("Unexpected data at the end of block");
+        }
+        return results;
+    }
+
+    private List<GameResult> decode(BlockDecoder decoder, int rows) throws IOException {
+        List<GameResult> results = new ArrayList<>(rows);
+        long id = 0;
+        for (int i = 0; i < rows; ++i) {
+            id += decoder.readZigZag();
+            results.add(GameResult.builder().id(id).build());
+        }
+        long micros = 0;
+        for (GameResult result : results) {
+            micros += decoder.readZigZag();
+            result.setCreated(ZonedDateTime.ofInstant(ResultArchive.ofEpochMicros(micros), zone));
+        }
+        for (GameResult result : results) {
+            result.setDuration(Duration.ofNanos(decoder.readVarLong()));
+        }
+        for (GameResult result : results) {
+            result.setSteps((int) decoder.readVarLong());
+        }
+        BitSet solved = decoder.readBits(rows);
+        for (int i = 0; i < rows; ++i) {
+            results.get(i).setSolved(solved.get(i));
+        }
+        String[] names = new String[decoder.readLength()];
+        for (int i = 0; i < names.length; ++i) {
+            names[i] = new String(decoder.readBytes(), StandardCharsets.UTF_8);
+        }
+        for (GameResult result : results) {
+            long index = decoder.readVarLong();
+            if (index >= names.length) {
+                throw new IOException("Invalid player index " + index);
+            }
+            result.setPlayer(names[(int) index]);
+        }
+        BitSet hasStartState = decoder.readBits(rows);
+        for (int i = 0; i < rows; ++i) {
+            if (hasStartState.get(i)) {
+                results.get(i).setStartState(decoder.readVarLong());
+            }
+        }
+        BitSet hasMoves = decoder.readBits(rows);
+        for (int i = 0; i < rows; ++i) {
+            if (hasMoves.get(i)) {
+                results.get(i).setMoves(decoder.readBytes());
+            }
+        }
+        return results;
+    }
+
+    private ByteBuffer readFully(int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Truncated archive");
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
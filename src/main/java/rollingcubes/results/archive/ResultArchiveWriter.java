@@ -0,0 +1,228 @@
+package rollingcubes.results.archive;
+
+import rollingcubes.results.GameResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Class for writing the results into an archive in the format described at
+ * {@link ResultArchive}.
+ *
+ * <p>The results are collected into blocks of a fixed number of rows, and
+ * each block is encoded and written when it is full, so the memory used does
+ * not depend on the number of the results. The results must be written in
+ * the order of their identifiers to get small deltas.
+ *
+ * <p>The archive is complete only after {@link #finish()} has written the
+ * end marker. Closing the writer without finishing it leaves an archive that
+ * is rejected as truncated when it is read.
+ */
+public class ResultArchiveWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+
+    private final int blockRows;
+
+    private final List<GameResult> block = new ArrayList<>();
+
+    private final BlockEncoder encoder = new BlockEncoder();
+
+    private final CRC32C checksum = new CRC32C();
+
+    private long count;
+
+    private boolean finished;
+
+    /**
+     * Creates a {@code ResultArchiveWriter} object writing blocks of
+     * {@link ResultArchive#DEFAULT_BLOCK_ROWS} rows, replacing the file if
+     * it exists.
+     *
+     * @param path the file of the archive
+     * @throws IOException if the file can not be written
+     */
+    public ResultArchiveWriter(Path path) throws IOException {
+        this(path, ResultArchive.DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * Creates a {@code ResultArchiveWriter} object, replacing the file if
+     * it exists.
+     *
+     * @param path the file of the archive
+     * @param blockRows the number of the rows of a block
+     * @throws IOException if the file can not be written
+     */
+    public ResultArchiveWriter(Path path, int blockRows) throws IOException {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("The number of the rows of a block must be positive");
+        }
+        this.blockRows = blockRows;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(ResultArchive.HEADER_SIZE);
+        header.putInt(ResultArchive.MAGIC).putInt(ResultArchive.VERSION).flip();
+        writeFully(header);
+    }
+
+    /**
+     * Writes a result.
+     *
+     * @param result the result, it must have an identifier
+     * @throws IOException if the file can not be written
+     * @throws IllegalArgumentException if the result has not been persisted
+     */
+    public void write(GameResult result) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("The archive is already finished");
+        }
+        if (result.getId() == null || result.getCreated() == null) {
+            throw new IllegalArgumentException("Only persisted results can be archived");
+        }
+        block.add(result);
+        if (block.size() == blockRows) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Returns the number of the results written.
+     *
+     * @return the number of the results written
+     */
+    public long getCount() {
+        return count + block.size();
+    }
+
+    private void writeBlock() throws IOException {
+        encoder.reset();
+        encode(block);
+        ByteBuffer header = ByteBuffer.allocate(ResultArchive.BLOCK_HEADER_SIZE);
+        header.putInt(block.size()).putInt(encoder.size()).flip();
+        checksum.reset();
+        checksum.update(header.array(), 0, ResultArchive.BLOCK_HEADER_SIZE);
+        checksum.update(encoder.array(), 0, encoder.size());
+        ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+        trailer.putInt((int) checksum.getValue()).flip();
+        writeFully(header);
+        writeFully(ByteBuffer.wrap(encoder.array(), 0, encoder.size()));
+        writeFully(trailer);
+        count += block.size();
+        block.clear();
+    }
+
+    private void encode(List<GameResult> results) {
+        int rows = results.size();
+        long previous = 0;
+        for (GameResult result : results) {
+            encoder.writeZigZag(result.getId() - previous);
+            previous = result.getId();
+        }
+        previous = 0;
+        for (GameResult result : results) {
+            long micros = ResultArchive.toEpochMicros(result.getCreated().toInstant());
+            encoder.writeZigZag(micros - previous);
+            previous = micros;
+        }
+        for (GameResult result : results) {
+            encoder.writeVarLong(result.getDuration().toNanos());
+        }
+        for (GameResult result : results) {
+            encoder.writeVarLong(result.getSteps());
+        }
+        BitSet solved = new BitSet(rows);
+        for (int i = 0; i < rows; ++i) {
+            solved.set(i, results.get(i).isSolved());
+        }
+        encoder.writeBits(solved, rows);
+        encodePlayers(results);
+        BitSet hasStartState = new BitSet(rows);
+        BitSet hasMoves = new BitSet(rows);
+        for (int i = 0; i < rows; ++i) {
+            hasStartState.set(i, results.get(i).getStartState() != null);
+            hasMoves.set(i, results.get(i).getMoves() != null);
+        }
+        encoder.writeBits(hasStartState, rows);
+        for (GameResult result : results) {
+            if (result.getStartState() != null) {
+                encoder.writeVarLong(result.getStartState());
+            }
+        }
+        encoder.writeBits(hasMoves, rows);
+        for (GameResult result : results) {
+            if (result.getMoves() != null) {
+                encoder.writeBytes(result.getMoves());
+            }
+        }
+    }
+
+    /**
+     * Writes the distinct names of the block followed by the index of the
+     * name of each row.
+     */
+    private void encodePlayers(List<GameResult> results) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] indices = new int[results.size()];
+        for (int i = 0; i < results.size(); ++i) {
+            indices[i] = dictionary.computeIfAbsent(results.get(i).getPlayer(), player -> {
+                names.add(player);
+                return names.size() - 1;
+            });
+        }
+        encoder.writeVarLong(names.size());
+        for (String name : names) {
+            encoder.writeBytes(name.getBytes(StandardCharsets.UTF_8));
+        }
+        for (int index : indices) {
+            encoder.writeVarLong(index);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes the last block and the end marker, and forces them to the disk.
+     * It must be called once after all the results have been written.
+     *
+     * @throws IOException if the file can not be written
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            throw new IllegalStateException("The archive is already finished");
+        }
+        if (! block.isEmpty()) {
+            writeBlock();
+        }
+        writeBlock();
+        channel.force(false);
+        finished = true;
+    }
+
+    /**
+     * Closes the file. The results not written by {@link #finish()} are
+     * discarded, and the archive is left without an end marker.
+     *
+     * @throws IOException if the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
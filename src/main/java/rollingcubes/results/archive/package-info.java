@@ -0,0 +1,5 @@
+/**
+ * Compact binary archive of the game results for backups and for moving the
+ * results between databases.
+ */
+package rollingcubes.results.archive;
@@ -0,0 +1,282 @@
+package rollingcubes.results.replay;
+
+import rollingcubes.results.MoveLog;
+import rollingcubes.state.Direction;
+import rollingcubes.state.PackedState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Class for the seekable playback of a recorded game.
+ *
+ * <p>A replay file starts with a header of {@value #HEADER_SIZE} bytes: the
+ * magic number {@code "RTDR"}, the version of the format, the keyframe
+ * interval and the packed starting state. It is followed by the moves, each
+ * encoded as an unsigned variable-length integer of 7 bits per byte holding
+ * the milliseconds elapsed since the previous move shifted left by 2 bits and
+ * the ordinal of the {@link Direction} of the roll. Every
+ * {@value #KEYFRAME_INTERVAL}th move is followed by the packed state reached on
+ * 8 bytes. Since the file is only appended to, an incomplete last record left
+ * by a crash is ignored.
+ *
+ * <p>The state after any move is computed from the preceding keyframe by at
+ * most {@code KEYFRAME_INTERVAL - 1} rolls, independent of the length of the
+ * game.
+ */
+public class Replay {
+
+    /**
+     * The magic number at the beginning of a replay file, {@code "RTDR"}.
+     */
+    public static final int MAGIC = 0x52544452;
+
+    /**
+     * The version of the format written.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of the moves between two keyframes.
+     */
+    public static final int KEYFRAME_INTERVAL = 32;
+
+    /**
+     * The size of the header of a replay file in bytes.
+     */
+    public static final int HEADER_SIZE = Integer.BYTES + 1 + Short.BYTES + Long.BYTES;
+
+    /**
+     * The maximal size of an encoded move in bytes.
+     */
+    static final int MAX_MOVE_SIZE = 10;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final long startState;
+
+    private final int keyframeInterval;
+
+    private final byte[] directions;
+
+    private final long[] times;
+
+    private final long[] keyframes;
+
+    private final int size;
+
+    private Replay(long startState, int keyframeInterval, byte[] directions, long[] times, long[] keyframes,
+                   int size) {
+        this.startState = startState;
+        this.keyframeInterval = keyframeInterval;
+        this.directions = directions;
+        this.times = times;
+        this.keyframes = keyframes;
+        this.size = size;
+    }
+
+    /**
+     * Reads a replay file.
+     *
+     * @param path the path of the file
+     * @return the replay
+     * @throws IOException if the file can not be read or it is not a replay file
+     */
+    public static Replay read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a replay file: " + path);
+        }
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay version " + version + ": " + path);
+        }
+        int interval = buffer.getShort() & 0xFFFF;
+        if (interval == 0) {
+            throw new IOException("Invalid keyframe interval: " + path);
+        }
+        long startState = buffer.getLong();
+        byte[] directions = new byte[64];
+        long[] times = new long[64];
+        long[] keyframes = new long[64 / interval + 1];
+        keyframes[0] = startState;
+        int size = 0;
+        long elapsed = 0;
+        while (buffer.hasRemaining()) {
+            long move = readVarLong(buffer);
+            boolean keyframe = (size + 1) % interval == 0;
+            if (move < 0 || keyframe && buffer.remaining() < Long.BYTES) {
+                break;
+            }
+            if (size == directions.length) {
+                directions = Arrays.copyOf(directions, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+                keyframes = Arrays.copyOf(keyframes, size * 2 / interval + 1);
+            }
+            elapsed += move >>> 2;
+            directions[size] = (byte) (move & 0b11);
+            times[size++] = elapsed;
+            if (keyframe) {
+                keyframes[size / interval] = buffer.getLong();
+            }
+        }
+        return new Replay(startState, interval, directions, times, keyframes, size);
+    }
+
+    /**
+     * Creates a replay from a {@link MoveLog}, spreading the moves evenly over
+     * the duration of the game. It serves the results recorded without
+     * a replay file.
+     *
+     * @param startState the packed starting state
+     * @param moves the moves encoded by {@link MoveLog}
+     * @param duration the duration of the game
+     * @return the replay
+     * @throws IllegalArgumentException if the log is invalid or contains an
+     * illegal move
+     */
+    public static Replay of(long startState, byte[] moves, Duration duration) {
+        int count = MoveLog.sizeOf(moves);
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid move log");
+        }
+        byte[] directions = new byte[count];
+        long[] times = new long[count];
+        long[] keyframes = new long[count / KEYFRAME_INTERVAL + 1];
+        keyframes[0] = startState;
+        long packed = startState;
+        for (int i = 0; i < count; ++i) {
+            directions[i] = (byte) MoveLog.directionOf(moves, count, i);
+            times[i] = duration.toMillis() * (i + 1) / count;
+            packed = roll(packed, directions[i]);
+            if ((i + 1) % KEYFRAME_INTERVAL == 0) {
+                keyframes[(i + 1) / KEYFRAME_INTERVAL] = packed;
+            }
+        }
+        return new Replay(startState, KEYFRAME_INTERVAL, directions, times, keyframes, count);
+    }
+
+    /**
+     * Returns the number of the moves.
+     *
+     * @return the number of the moves
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the packed starting state of the game.
+     *
+     * @return the packed starting state of the game
+     */
+    public long getStartState() {
+        return startState;
+    }
+
+    /**
+     * Returns the direction of the specified move.
+     *
+     * @param index the index of the move
+     * @return the direction of the roll
+     * @throws IndexOutOfBoundsException if there is no such move
+     */
+    public Direction getDirection(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return DIRECTIONS[directions[index]];
+    }
+
+    /**
+     * Returns the packed state after the specified number of moves.
+     *
+     * @param moves the number of the moves made, from {@code 0} to {@link #size()}
+     * @return the packed state
+     * @throws IndexOutOfBoundsException if {@code moves} is out of range
+     * @throws IllegalArgumentException if the replay contains an illegal move
+     */
+    public long stateAt(int moves) {
+        if (moves < 0 || moves > size) {
+            throw new IndexOutOfBoundsException(moves);
+        }
+        int from = moves / keyframeInterval * keyframeInterval;
+        long packed = keyframes[moves / keyframeInterval];
+        for (int i = from; i < moves; ++i) {
+            packed = roll(packed, directions[i]);
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the time elapsed from the start of the game until the specified
+     * number of moves had been made.
+     *
+     * @param moves the number of the moves made, from {@code 0} to {@link #size()}
+     * @return the time elapsed
+     * @throws IndexOutOfBoundsException if {@code moves} is out of range
+     */
+    public Duration elapsedAt(int moves) {
+        if (moves < 0 || moves > size) {
+            throw new IndexOutOfBoundsException(moves);
+        }
+        return moves == 0 ? Duration.ZERO : Duration.ofMillis(times[moves - 1]);
+    }
+
+    /**
+     * Returns the time elapsed until the last move.
+     *
+     * @return the time elapsed until the last move
+     */
+    public Duration getDuration() {
+        return elapsedAt(size);
+    }
+
+    private static long roll(long packed, int direction) {
+        int row = PackedState.getEmptyRow(packed) - DIRECTIONS[direction].getDx();
+        int col = PackedState.getEmptyCol(packed) - DIRECTIONS[direction].getDy();
+        if (row < 0 || row >= PackedState.SIZE || col < 0 || col >= PackedState.SIZE) {
+            throw new IllegalArgumentException("Illegal move in the replay");
+        }
+        return PackedState.roll(packed, row * PackedState.SIZE + col, direction);
+    }
+
+    /**
+     * Writes an unsigned variable-length integer of 7 bits per byte.
+     *
+     * @return the offset following the integer
+     */
+    static int writeVarLong(byte[] bytes, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[offset++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+
+    /**
+     * Reads an unsigned variable-length integer of 7 bits per byte.
+     *
+     * @return the integer, or {@code -1} if the buffer ends before it
+     */
+    private static long readVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_MOVE_SIZE; shift += 7) {
+            if (! buffer.hasRemaining()) {
+                return -1;
+            }
+            int b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid move in the replay");
+    }
+
+}
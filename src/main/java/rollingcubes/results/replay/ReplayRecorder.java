@@ -0,0 +1,135 @@
+package rollingcubes.results.replay;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.MoveEvent;
+import rollingcubes.state.MoveListener;
+import rollingcubes.state.PackedState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+
+/**
+ * Class for recording the moves of a game into a replay file in the format
+ * described by {@link Replay}.
+ *
+ * <p>Every move is appended to the file by a single write as soon as it is
+ * made, so that the replay of an interrupted game is kept up to its last
+ * move. When the file can not be written, the error is logged and the rest of
+ * the game is not recorded.
+ */
+@Slf4j
+public class ReplayRecorder implements MoveListener, Closeable {
+
+    private final Path path;
+
+    private final Clock clock;
+
+    private final OutputStream out;
+
+    private final byte[] buffer = new byte[Replay.MAX_MOVE_SIZE + Long.BYTES];
+
+    private long packed;
+
+    private long lastMillis;
+
+    private int size;
+
+    private boolean failed;
+
+    /**
+     * Creates a new replay file and writes its header.
+     *
+     * @param path the path of the file, it must not exist
+     * @param startState the packed starting state of the game
+     * @param clock the clock timing the moves
+     * @throws IOException if the file can not be created
+     */
+    public ReplayRecorder(Path path, long startState, Clock clock) throws IOException {
+        this.path = path;
+        this.clock = clock;
+        packed = startState;
+        lastMillis = clock.millis();
+        out = Files.newOutputStream(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.APPEND);
+        out.write(ByteBuffer.allocate(Replay.HEADER_SIZE)
+                .putInt(Replay.MAGIC)
+                .put((byte) Replay.VERSION)
+                .putShort((short) Replay.KEYFRAME_INTERVAL)
+                .putLong(startState)
+                .array());
+    }
+
+    /**
+     * Appends the move described by the event to the replay file.
+     *
+     * @param event the move made
+     */
+    @Override
+    public void onMove(MoveEvent event) {
+        if (failed) {
+            return;
+        }
+        long now = clock.millis();
+        long delta = Math.max(now - lastMillis, 0);
+        lastMillis = now;
+        int direction = event.getDirection().ordinal();
+        packed = PackedState.roll(packed, event.getRow() * PackedState.SIZE + event.getCol(), direction);
+        ++size;
+        int length = Replay.writeVarLong(buffer, 0, delta << 2 | direction);
+        if (size % Replay.KEYFRAME_INTERVAL == 0) {
+            ByteBuffer.wrap(buffer, length, Long.BYTES).putLong(packed);
+            length += Long.BYTES;
+        }
+        try {
+            out.write(buffer, 0, length);
+        } catch (IOException e) {
+            log.error("Writing the replay {} failed", path, e);
+            failed = true;
+        }
+    }
+
+    /**
+     * Returns the path of the replay file.
+     *
+     * @return the path of the replay file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of the moves recorded.
+     *
+     * @return the number of the moves recorded
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Closes the replay file and deletes it, for the games which are not
+     * recorded as results.
+     *
+     * @throws IOException if the file can not be deleted
+     */
+    public void discard() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Closes the replay file.
+     *
+     * @throws IOException if the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+}
@@ -0,0 +1,95 @@
+package rollingcubes.results.replay;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.results.GameResult;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Class for keeping the replay files of the games in a directory.
+ *
+ * <p>The name of the replay file of a game is stored in its
+ * {@link GameResult}. The results recorded without a replay file are replayed
+ * from their move logs instead.
+ */
+@Slf4j
+@Singleton
+public class ReplayStore {
+
+    /**
+     * The default directory of the replay files.
+     */
+    public static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".rollingcubes", "replays");
+
+    /**
+     * The extension of the replay files.
+     */
+    public static final String EXTENSION = ".rtdr";
+
+    private final Path directory;
+
+    private final Clock clock;
+
+    /**
+     * Creates a {@code ReplayStore} object using the {@link #DEFAULT_DIRECTORY}
+     * and the system clock.
+     */
+    @Inject
+    public ReplayStore() {
+        this(DEFAULT_DIRECTORY, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a {@code ReplayStore} object.
+     *
+     * @param directory the directory of the replay files
+     * @param clock the clock timing the moves
+     */
+    public ReplayStore(Path directory, Clock clock) {
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts recording a game into a new replay file.
+     *
+     * @param startState the packed starting state of the game
+     * @return the recorder to be registered as a move listener
+     * @throws IOException if the file can not be created
+     */
+    public ReplayRecorder startRecording(long startState) throws IOException {
+        Files.createDirectories(directory);
+        return new ReplayRecorder(directory.resolve(UUID.randomUUID() + EXTENSION), startState, clock);
+    }
+
+    /**
+     * Opens the replay of a result.
+     *
+     * @param result the result
+     * @return the replay, or an empty {@link Optional} if the result has
+     * neither a replay file nor a move log
+     * @throws IOException if the replay file can not be read
+     */
+    public Optional<Replay> open(GameResult result) throws IOException {
+        if (result.getReplay() != null) {
+            Path path = directory.resolve(Paths.get(result.getReplay()).getFileName());
+            if (Files.isRegularFile(path)) {
+                return Optional.of(Replay.read(path));
+            }
+            log.warn("Replay file {} of the result {} not found", path, result.getId());
+        }
+        if (result.getStartState() == null || result.getMoves() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Replay.of(result.getStartState(), result.getMoves(), result.getDuration()));
+    }
+
+}
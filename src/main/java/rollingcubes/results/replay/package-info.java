@@ -0,0 +1,5 @@
+/**
+ * Recording of the timed move streams of the games and their seekable
+ * playback.
+ */
+package rollingcubes.results.replay;
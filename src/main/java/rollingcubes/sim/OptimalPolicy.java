@@ -0,0 +1,73 @@
+package rollingcubes.sim;
+
+import rollingcubes.solver.Heuristic;
+import rollingcubes.solver.Move;
+import rollingcubes.solver.Solution;
+import rollingcubes.solver.Solver;
+import rollingcubes.state.PackedState;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Policy following the optimal solution found by a {@link Solver}.
+ *
+ * <p>The solution is computed once and followed move by move. When the solver
+ * exceeds its node limit, the greedy policy is used for the move instead.
+ */
+public class OptimalPolicy implements Policy {
+
+    private final Solver solver;
+
+    private final Policy fallback;
+
+    private List<Move> plan = List.of();
+
+    private int next;
+
+    /**
+     * The state where the next move of the plan is applicable.
+     */
+    private long expected = -1;
+
+    /**
+     * Creates an {@code OptimalPolicy} object.
+     *
+     * @param heuristic the admissible heuristic of the solver
+     * @param maxNodes the node limit of a single search
+     */
+    public OptimalPolicy(Heuristic heuristic, long maxNodes) {
+        this.solver = new Solver(heuristic, maxNodes);
+        this.fallback = Policy.greedy(heuristic);
+    }
+
+    @Override
+    public void reset(long packed) {
+        plan = List.of();
+        expected = -1;
+    }
+
+    @Override
+    public int choose(long packed, long[] successors, int count, SplittableRandom random) {
+        if (packed != expected || next >= plan.size()) {
+            Optional<Solution> solution = solver.solve(packed);
+            if (solution.isEmpty()) {
+                expected = -1;
+                return fallback.choose(packed, successors, count, random);
+            }
+            plan = solution.get().getMoves();
+            next = 0;
+        }
+        Move move = plan.get(next++);
+        int index = move.getRow() * PackedState.SIZE + move.getCol();
+        for (int k = 0; k < count; ++k) {
+            if (PackedState.getEmptyIndex(successors[k]) == index) {
+                expected = successors[k];
+                return k;
+            }
+        }
+        throw new IllegalStateException("The move of the plan is not applicable");
+    }
+
+}
@@ -0,0 +1,81 @@
+package rollingcubes.sim;
+
+import rollingcubes.solver.Heuristic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Interface for the strategies choosing the moves of a simulated player.
+ *
+ * <p>A policy may keep state between the moves, so each thread must use
+ * its own instance.
+ */
+public interface Policy {
+
+    /**
+     * Chooses the next move.
+     *
+     * @param packed the packed state
+     * @param successors the states reachable by a single move as returned by
+     *                   {@link rollingcubes.state.PackedState#successors(long, long[])}
+     * @param count the number of the successors
+     * @param random the source of randomness of the game
+     * @return the index of the chosen successor
+     */
+    int choose(long packed, long[] successors, int count, SplittableRandom random);
+
+    /**
+     * Called before the first move of each game.
+     *
+     * @param packed the packed starting state
+     */
+    default void reset(long packed) {
+    }
+
+    /**
+     * Returns a policy choosing the moves uniformly at random.
+     *
+     * @return the policy
+     */
+    static Policy random() {
+        return (packed, successors, count, random) -> random.nextInt(count);
+    }
+
+    /**
+     * Returns a policy choosing the successor with the least heuristic value,
+     * breaking the ties at random.
+     *
+     * @param heuristic the heuristic
+     * @return the policy
+     */
+    static Policy greedy(Heuristic heuristic) {
+        return (packed, successors, count, random) -> {
+            int best = -1;
+            int bestEstimate = Integer.MAX_VALUE;
+            int ties = 0;
+            for (int k = 0; k < count; ++k) {
+                int estimate = heuristic.estimate(successors[k]);
+                if (estimate < bestEstimate) {
+                    best = k;
+                    bestEstimate = estimate;
+                    ties = 1;
+                } else if (estimate == bestEstimate && random.nextInt(++ties) == 0) {
+                    best = k;
+                }
+            }
+            return best;
+        };
+    }
+
+    /**
+     * Returns a policy following optimal solutions, see {@link OptimalPolicy}.
+     *
+     * @param heuristic the admissible heuristic of the solver
+     * @param maxNodes the node limit of a single search
+     * @return the policy
+     */
+    static Policy optimal(Heuristic heuristic, long maxNodes) {
+        return new OptimalPolicy(heuristic, maxNodes);
+    }
+
+}
@@ -0,0 +1,214 @@
+package rollingcubes.sim;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.analysis.StateSpaceAnalyser;
+import rollingcubes.solver.Heuristic;
+import rollingcubes.solver.PatternDatabaseHeuristic;
+import rollingcubes.solver.Solver;
+import rollingcubes.state.PackedState;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Class for playing games without the user interface.
+ *
+ * <p>Each game starts from a state scrambled by a random walk from a solved
+ * state, and it is played by a {@link Policy} until it is solved or the step
+ * limit is reached. The games are distributed among the threads of a pool,
+ * each thread using its own policy. The games are played on
+ * {@link PackedState packed states}, so a move allocates nothing.
+ *
+ * <p>The randomness of each game is derived from the seed and the index of
+ * the game, so the report does not depend on the number of the threads.
+ */
+@Slf4j
+public class SimulationEngine {
+
+    /**
+     * The number of the games claimed by a thread at once.
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final Supplier<Policy> policies;
+
+    private final int threads;
+
+    private final int maxSteps;
+
+    private final int scrambleMoves;
+
+    private final long seed;
+
+    /**
+     * Creates a {@code SimulationEngine} object.
+     *
+     * @param policies the supplier of the policies, called once by each thread
+     * @param threads the number of the threads
+     * @param maxSteps the maximal number of the steps of a game
+     * @param scrambleMoves the number of the random moves made from a solved
+     *                      state to get the starting state
+     * @param seed the seed of the random generator
+     */
+    public SimulationEngine(Supplier<Policy> policies, int threads, int maxSteps, int scrambleMoves, long seed) {
+        this.policies = policies;
+        this.threads = threads;
+        this.maxSteps = maxSteps;
+        this.scrambleMoves = scrambleMoves;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the specified number of games.
+     *
+     * @param games the number of the games
+     * @return the statistics of the games
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public SimulationReport run(long games) throws InterruptedException {
+        long start = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "simulation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicLong nextGame = new AtomicLong();
+        List<Future<Worker>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> new Worker(policies.get()).play(nextGame, games)));
+            }
+            long solved = 0;
+            long totalMoves = 0;
+            long[] histogram = new long[maxSteps + 1];
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                solved += worker.solved;
+                totalMoves += worker.totalMoves;
+                for (int steps = 0; steps <= maxSteps; ++steps) {
+                    histogram[steps] += worker.histogram[steps];
+                }
+            }
+            SimulationReport report = new SimulationReport(games, solved, histogram, totalMoves,
+                    Duration.ofNanos(System.nanoTime() - start));
+            log.info("{} games played, {} solved in {}", games, solved, report.getWallTime());
+            return report;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the starting state of the specified game.
+     *
+     * @param random the source of randomness of the game
+     * @param goals the solved states
+     * @param successors the array receiving the successors
+     * @return the packed starting state
+     */
+    private long scramble(SplittableRandom random, long[] goals, long[] successors) {
+        long packed = goals[random.nextInt(goals.length)];
+        int previousEmpty = -1;
+        for (int k = 0; k < scrambleMoves; ++k) {
+            int count = PackedState.successors(packed, successors);
+            long successor;
+            do {
+                successor = successors[random.nextInt(count)];
+            } while (PackedState.getEmptyIndex(successor) == previousEmpty);
+            previousEmpty = PackedState.getEmptyIndex(packed);
+            packed = successor;
+        }
+        return packed;
+    }
+
+    /**
+     * The games played by a thread and their statistics.
+     */
+    private class Worker {
+
+        private final Policy policy;
+        private final long[] goals = StateSpaceAnalyser.goalStates();
+        private final long[] successors = new long[PackedState.MAX_SUCCESSORS];
+        private final long[] histogram = new long[maxSteps + 1];
+        private long solved;
+        private long totalMoves;
+
+        Worker(Policy policy) {
+            this.policy = policy;
+        }
+
+        Worker play(AtomicLong nextGame, long games) {
+            for (long first = nextGame.getAndAdd(CHUNK_SIZE); first < games; first = nextGame.getAndAdd(CHUNK_SIZE)) {
+                for (long game = first; game < Math.min(first + CHUNK_SIZE, games); ++game) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return this;
+                    }
+                    play(new SplittableRandom(seed + game * GOLDEN_GAMMA));
+                }
+            }
+            return this;
+        }
+
+        private void play(SplittableRandom random) {
+            long packed = scramble(random, goals, successors);
+            policy.reset(packed);
+            int steps = 0;
+            while (! PackedState.isSolved(packed) && steps < maxSteps) {
+                int count = PackedState.successors(packed, successors);
+                packed = successors[policy.choose(packed, successors, count, random)];
+                ++steps;
+            }
+            totalMoves += steps;
+            if (PackedState.isSolved(packed)) {
+                ++solved;
+                ++histogram[steps];
+            }
+        }
+
+    }
+
+    /**
+     * Runs a simulation and prints the report.
+     *
+     * @param args the policy, {@code random}, {@code greedy} or {@code optimal},
+     *             the number of the games, the number of the scrambling moves
+     *             and the number of the threads, {@code greedy}, 100000, 20
+     *             and the number of the processors by default
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String name = args.length > 0 ? args[0] : "greedy";
+        long games = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        int scrambleMoves = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        Heuristic heuristic = PatternDatabaseHeuristic.openOrDefault(PatternDatabaseHeuristic.DEFAULT_DIRECTORY);
+        Supplier<Policy> policies;
+        switch (name) {
+            case "random": policies = Policy::random; break;
+            case "greedy": policies = () -> Policy.greedy(heuristic); break;
+            case "optimal": policies = () -> Policy.optimal(heuristic, Solver.DEFAULT_MAX_NODES); break;
+            default: throw new IllegalArgumentException("Unknown policy: " + name);
+        }
+        SimulationReport report = new SimulationEngine(policies, threads, 1000, scrambleMoves, 0).run(games);
+        System.out.printf("%,d games, %.2f%% solved, %.1f steps on average, median %d, 90th percentile %d%n",
+                report.getGames(), report.getSolveRate() * 100, report.getMeanSteps(),
+                report.getStepPercentile(0.5), report.getStepPercentile(0.9));
+        System.out.printf("%,.0f games/s, %,.0f moves/s in %s%n", report.getGamesPerSecond(),
+                report.getMovesPerSecond(), report.getWallTime());
+    }
+
+}
@@ -0,0 +1,97 @@
+package rollingcubes.sim;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Class for the aggregate statistics of a simulation.
+ */
+@Value
+public class SimulationReport {
+
+    /**
+     * The number of the games played.
+     */
+    long games;
+
+    /**
+     * The number of the games solved within the step limit.
+     */
+    long solved;
+
+    /**
+     * The number of the solved games, indexed by the number of the steps.
+     */
+    long[] stepHistogram;
+
+    /**
+     * The number of the moves made in all games, including the unsolved ones.
+     */
+    long totalMoves;
+
+    /**
+     * The wall-clock time of the simulation.
+     */
+    Duration wallTime;
+
+    /**
+     * Returns the fraction of the games solved.
+     *
+     * @return the solve rate, {@code 0} if no game has been played
+     */
+    public double getSolveRate() {
+        return games == 0 ? 0 : (double) solved / games;
+    }
+
+    /**
+     * Returns the average number of the steps of the solved games.
+     *
+     * @return the average number of the steps, {@code 0} if no game has been solved
+     */
+    public double getMeanSteps() {
+        long sum = 0;
+        for (int steps = 0; steps < stepHistogram.length; ++steps) {
+            sum += steps * stepHistogram[steps];
+        }
+        return solved == 0 ? 0 : (double) sum / solved;
+    }
+
+    /**
+     * Returns the least number of the steps within which the specified
+     * fraction of the solved games have been solved.
+     *
+     * @param fraction the fraction between {@code 0} and {@code 1}
+     * @return the percentile of the steps, {@code -1} if no game has been solved
+     */
+    public int getStepPercentile(double fraction) {
+        long threshold = (long) Math.ceil(fraction * solved);
+        long count = 0;
+        for (int steps = 0; steps < stepHistogram.length; ++steps) {
+            count += stepHistogram[steps];
+            if (count >= threshold && count > 0) {
+                return steps;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of the games played per second.
+     *
+     * @return the number of the games played per second
+     */
+    public double getGamesPerSecond() {
+        return games / Math.max(wallTime.toNanos() / 1e9, 1e-9);
+    }
+
+    /**
+     * Returns the number of the moves made per second.
+     *
+     * @return the number of the moves made per second
+     */
+    public double getMovesPerSecond() {
+        return totalMoves / Math.max(wallTime.toNanos() / 1e9, 1e-9);
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Headless simulation of games played by policies.
+ */
+package rollingcubes.sim;
@@ -0,0 +1,46 @@
+package rollingcubes.solver;
+
+import lombok.Value;
+
+/**
+ * Class for the counters of a {@link TranspositionCache}.
+ */
+@Value
+public class CacheStatistics {
+
+    /**
+     * The number of the lookups that have found an entry.
+     */
+    long hits;
+
+    /**
+     * The number of the lookups that have not found an entry.
+     */
+    long misses;
+
+    /**
+     * The number of the entries evicted to make room for new ones.
+     */
+    long evictions;
+
+    /**
+     * The number of the entries in the cache.
+     */
+    long size;
+
+    /**
+     * The maximal number of the entries in the cache.
+     */
+    long capacity;
+
+    /**
+     * Returns the fraction of the lookups that have found an entry.
+     *
+     * @return the hit ratio, {@code 0} if there has been no lookup
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+}
@@ -0,0 +1,26 @@
+package rollingcubes.solver;
+
+import rollingcubes.state.Cube;
+import rollingcubes.state.PackedState;
+
+/**
+ * Heuristic summing the number of rolls each dice needs to show
+ * {@link Cube#CUBE2} from its current position. Every move rolls a single
+ * dice, so the sum never overestimates the number of moves needed.
+ *
+ * @see DieDistanceTable
+ */
+public class DieDistanceHeuristic implements Heuristic {
+
+    private final byte[] table = DieDistanceTable.getTable();
+
+    @Override
+    public int estimate(long packed) {
+        int sum = 0;
+        for (int i = 0; i < PackedState.CELLS; ++i) {
+            sum += table[DieDistanceTable.indexOf(i, PackedState.getValue(packed, i))];
+        }
+        return sum;
+    }
+
+}
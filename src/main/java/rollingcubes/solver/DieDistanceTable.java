@@ -0,0 +1,106 @@
+package rollingcubes.solver;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.Cube;
+import rollingcubes.state.Direction;
+import rollingcubes.state.PackedState;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * Class for the table of the minimal number of rolls a single dice needs to
+ * show {@link Cube#CUBE2}, for each position and each value of the dice.
+ *
+ * <p>The table is computed by a breadth-first search over the product graph
+ * of the positions and the values, whose edges are given by
+ * {@link Cube#rollTo(Direction)}, {@link Direction#getDx()} and
+ * {@link Direction#getDy()}. The entry of the dice at index
+ * {@code row * 4 + col} with value {@code v} is at {@code index << 3 | v},
+ * so it can be looked up directly with the bits of a {@link PackedState}.
+ */
+@Slf4j
+public final class DieDistanceTable {
+
+    private static final int VALUE_BITS = 3;
+
+    private static final byte[] TABLE = generate();
+
+    private DieDistanceTable() {
+    }
+
+    /**
+     * Returns the index of the entry of the specified dice.
+     *
+     * @param index the index of the dice's cell, {@code row * 4 + col}
+     * @param value the value of the dice as returned by {@link Cube#getValue()}
+     * @return the index of the entry in the table
+     */
+    public static int indexOf(int index, int value) {
+        return index << VALUE_BITS | value;
+    }
+
+    /**
+     * Returns the minimal number of rolls the specified dice needs to show
+     * {@link Cube#CUBE2}.
+     *
+     * @param index the index of the dice's cell, {@code row * 4 + col}
+     * @param value the value of the dice as returned by {@link Cube#getValue()}
+     * @return the minimal number of rolls, {@code 0} for {@link Cube#EMPTY}
+     */
+    public static int get(int index, int value) {
+        return TABLE[indexOf(index, value)];
+    }
+
+    /**
+     * Returns a copy of the table built at startup.
+     *
+     * @return a copy of the table
+     */
+    public static byte[] getTable() {
+        return TABLE.clone();
+    }
+
+    /**
+     * Computes the table.
+     *
+     * @return the table of the distances indexed by {@link #indexOf(int, int)}
+     */
+    public static byte[] generate() {
+        byte[] table = new byte[PackedState.CELLS << VALUE_BITS];
+        Arrays.fill(table, (byte) -1);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int index = 0; index < PackedState.CELLS; ++index) {
+            table[indexOf(index, Cube.EMPTY.getValue())] = 0;
+            table[indexOf(index, Cube.CUBE2.getValue())] = 0;
+            queue.add(indexOf(index, Cube.CUBE2.getValue()));
+        }
+        // rolling is reversible, hence the distances from CUBE2 are the distances to CUBE2
+        while (! queue.isEmpty()) {
+            int entry = queue.remove();
+            int index = entry >>> VALUE_BITS;
+            Cube cube = Cube.of(entry & ((1 << VALUE_BITS) - 1));
+            for (Direction direction : Direction.values()) {
+                int row = index / PackedState.SIZE + direction.getDx();
+                int col = index % PackedState.SIZE + direction.getDy();
+                if (row < 0 || row >= PackedState.SIZE || col < 0 || col >= PackedState.SIZE) {
+                    continue;
+                }
+                int next = indexOf(row * PackedState.SIZE + col, cube.rollTo(direction).getValue());
+                if (table[next] == -1) {
+                    table[next] = (byte) (table[entry] + 1);
+                    queue.add(next);
+                }
+            }
+        }
+        for (int i = 0; i < table.length; ++i) {
+            if (table[i] == -1) {
+                table[i] = 0;
+            }
+        }
+        log.debug("Die distance table generated");
+        return table;
+    }
+
+}
@@ -0,0 +1,21 @@
+package rollingcubes.solver;
+
+/**
+ * Interface for the admissible estimates of the number of moves needed to
+ * solve a packed state.
+ *
+ * @see rollingcubes.state.PackedState
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * Returns a lower bound of the number of moves needed to solve the state.
+     *
+     * @param packed the packed state
+     * @return a lower bound of the number of moves needed to solve the state,
+     * {@code 0} if the state is solved
+     */
+    int estimate(long packed);
+
+}
@@ -0,0 +1,27 @@
+package rollingcubes.solver;
+
+import lombok.Value;
+
+/**
+ * Class for a suggested next move.
+ */
+@Value
+public class Hint {
+
+    /**
+     * The suggested move.
+     */
+    Move move;
+
+    /**
+     * The number of the moves needed to solve the state, including the
+     * suggested one, or {@code -1} if it is unknown.
+     */
+    int remainingMoves;
+
+    /**
+     * Whether the suggested move is the first move of an optimal solution.
+     */
+    boolean optimal;
+
+}
@@ -0,0 +1,162 @@
+package rollingcubes.solver;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.PackedState;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Service computing hints on a background thread.
+ *
+ * <p>The hints are computed by a {@link Solver} with a node limit. When the
+ * limit is exceeded, the move leading to the state with the least heuristic
+ * value is suggested instead. The hints of the states along a solution are
+ * stored in the shared {@link TranspositionCache}, so that the hints for the
+ * following moves and for the recently seen states are available immediately.
+ *
+ * <p>The hints along an optimal solution of {@link PackedState#NEAR_GOAL},
+ * the starting state of every game, are precomputed. Solving it takes about
+ * 34 million nodes with the pattern databases and over two billion without
+ * them, far beyond the node limit.
+ */
+@Slf4j
+@Singleton
+public class HintService {
+
+    /**
+     * The maximal number of the nodes expanded while computing a hint.
+     */
+    public static final long MAX_NODES = 30_000_000L;
+
+    /**
+     * The cells of the cubes rolled by an optimal solution of
+     * {@link PackedState#NEAR_GOAL}, as hexadecimal cell indices.
+     */
+    static final String OPENING_MOVES = "956a98cdefba659dea65126a98459dea673215621540";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hint-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Heuristic heuristic = PatternDatabaseHeuristic.openOrDefault(PatternDatabaseHeuristic.DEFAULT_DIRECTORY);
+
+    private final Solver solver = new Solver(heuristic, MAX_NODES);
+
+    private final TranspositionCache cache;
+
+    private final Map<Long, Hint> openingHints = openingHints();
+
+    /**
+     * Creates a {@code HintService} object, and stores the precomputed hints
+     * of the starting state in the cache.
+     *
+     * @param cache the cache of the optimal hints
+     */
+    @Inject
+    public HintService(TranspositionCache cache) {
+        this.cache = cache;
+        openingHints.forEach((packed, hint) -> cache.put(packed, hint.getRemainingMoves(), hint.getMove()));
+    }
+
+    private static Map<Long, Hint> openingHints() {
+        Map<Long, Hint> hints = new HashMap<>();
+        long packed = PackedState.NEAR_GOAL;
+        for (int i = 0; i < OPENING_MOVES.length(); ++i) {
+            int index = Character.digit(OPENING_MOVES.charAt(i), 16);
+            Move move = new Move(index / PackedState.SIZE, index % PackedState.SIZE);
+            hints.put(packed, new Hint(move, OPENING_MOVES.length() - i, true));
+            packed = PackedState.rollToEmptySpace(packed, move.getRow(), move.getCol());
+        }
+        if (! PackedState.isSolved(packed)) {
+            throw new IllegalStateException("The opening moves do not solve the starting state");
+        }
+        return Map.copyOf(hints);
+    }
+
+    /**
+     * Computes a hint for the specified state in the background. The callback
+     * is called on the background thread, or on the calling thread if the
+     * hint is cached. It is not called if the state is solved or the returned
+     * {@link Future} is cancelled before the hint is ready.
+     *
+     * @param packed the packed state
+     * @param callback the consumer of the hint
+     * @return the {@link Future} which can be cancelled when the hint is no
+     * longer needed
+     */
+    public Future<?> requestHint(long packed, Consumer<Hint> callback) {
+        if (PackedState.isSolved(packed)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Optional<Hint> cached = getCached(packed);
+        if (cached.isPresent()) {
+            log.debug("Hint found in the cache");
+            callback.accept(cached.get());
+            return CompletableFuture.completedFuture(null);
+        }
+        return executor.submit(() -> computeHint(packed).ifPresent(callback));
+    }
+
+    private Optional<Hint> getCached(long packed) {
+        int entry = cache.get(packed);
+        if (entry == TranspositionCache.MISS) {
+            // the opening hints may have been evicted from the cache
+            return Optional.ofNullable(openingHints.get(packed));
+        }
+        return Optional.of(new Hint(TranspositionCache.moveOf(entry), TranspositionCache.distanceOf(entry), true));
+    }
+
+    private Optional<Hint> computeHint(long packed) {
+        Optional<Hint> cached = getCached(packed);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<Solution> solution = solver.solve(packed);
+        if (Thread.currentThread().isInterrupted()) {
+            log.debug("Hint computation cancelled");
+            return Optional.empty();
+        }
+        if (solution.isPresent()) {
+            log.debug("Optimal hint computed, {} nodes in {}", solution.get().getStatistics().getNodesExpanded(),
+                    solution.get().getStatistics().getWallTime());
+            return Optional.of(cacheSolution(packed, solution.get().getMoves()));
+        }
+        log.debug("Node limit exceeded, suggesting a greedy move");
+        return Optional.of(greedyHint(packed));
+    }
+
+    private Hint cacheSolution(long packed, List<Move> moves) {
+        for (int i = 0; i < moves.size(); ++i) {
+            Move move = moves.get(i);
+            cache.put(packed, moves.size() - i, move);
+            packed = PackedState.rollToEmptySpace(packed, move.getRow(), move.getCol());
+        }
+        return new Hint(moves.get(0), moves.size(), true);
+    }
+
+    private Hint greedyHint(long packed) {
+        long[] successors = new long[PackedState.MAX_SUCCESSORS];
+        int count = PackedState.successors(packed, successors);
+        int best = 0;
+        for (int k = 1; k < count; ++k) {
+            if (heuristic.estimate(successors[k]) < heuristic.estimate(successors[best])) {
+                best = k;
+            }
+        }
+        int index = PackedState.getEmptyIndex(successors[best]);
+        return new Hint(new Move(index / PackedState.SIZE, index % PackedState.SIZE), -1, false);
+    }
+
+}
@@ -0,0 +1,21 @@
+package rollingcubes.solver;
+
+import lombok.Value;
+
+/**
+ * Class for representing a click on the cube that is rolled to the empty place.
+ */
+@Value
+public class Move {
+
+    /**
+     * The rolled cube's row.
+     */
+    int row;
+
+    /**
+     * The rolled cube's column.
+     */
+    int col;
+
+}
@@ -0,0 +1,208 @@
+package rollingcubes.solver;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.Cube;
+import rollingcubes.state.Direction;
+import rollingcubes.state.PackedState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Class for a pattern database read through a memory-mapped file.
+ *
+ * <p>A pattern database projects a state onto a subset of the cells, the
+ * pattern: the projection consists of the empty place and the values of the
+ * dices in the cells of the pattern. For every projection the database stores
+ * a lower bound of the number of moves rolling a dice <em>out of</em> a cell
+ * of the pattern that are needed to solve the state. Since every move is
+ * counted by the pattern of its source cell only, the values of disjoint
+ * patterns can be added.
+ *
+ * <p>The file starts with a header of {@value #HEADER_SIZE} bytes:
+ * <ul>
+ *     <li>the magic number {@code RCPD},</li>
+ *     <li>the format version,</li>
+ *     <li>the CRC-32 checksum of the transition table of {@link Cube} and
+ *     of the pattern,</li>
+ *     <li>the bit mask of the cells of the pattern,</li>
+ *     <li>the number of the entries,</li>
+ * </ul>
+ * followed by the entries packed into 4 bits each, two entries per byte.
+ *
+ * @see PatternDatabaseGenerator
+ */
+@Slf4j
+public class PatternDatabase {
+
+    /**
+     * The magic number at the beginning of the files.
+     */
+    public static final int MAGIC = 0x52435044;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header of the files in bytes.
+     */
+    public static final int HEADER_SIZE = 32;
+
+    /**
+     * The maximal distance that can be stored in an entry, greater distances
+     * are stored as this value.
+     */
+    public static final int MAX_DISTANCE = 15;
+
+    /**
+     * The number of the possible values of a dice.
+     */
+    static final int RADIX = Cube.values().length - 1;
+
+    private final int cellMask;
+
+    private final int[] cells;
+
+    private final ByteBuffer entries;
+
+    private PatternDatabase(int cellMask, ByteBuffer entries) {
+        this.cellMask = cellMask;
+        this.cells = cellsOf(cellMask);
+        this.entries = entries;
+    }
+
+    /**
+     * Opens the pattern database stored in the specified file. The file is
+     * mapped into memory, it is not loaded onto the heap.
+     *
+     * @param path the path of the file
+     * @return the pattern database
+     * @throws IOException if the file can not be read, or it is not a valid
+     * pattern database built against the current transition table of
+     * {@link Cube}
+     */
+    public static PatternDatabase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a pattern database");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException(path + " has unsupported version " + buffer.getInt(4));
+            }
+            int cellMask = buffer.getInt(16);
+            if (buffer.getLong(8) != checksum(cellMask)) {
+                throw new IOException(path + " is stale, it was built against a different transition table");
+            }
+            long size = buffer.getLong(24);
+            if (size != sizeOf(cellMask) || buffer.limit() != HEADER_SIZE + (size + 1) / 2) {
+                throw new IOException(path + " is truncated");
+            }
+            log.debug("Pattern database {} mapped, cells {}", path, Integer.toBinaryString(cellMask));
+            return new PatternDatabase(cellMask, buffer.position(HEADER_SIZE).slice());
+        }
+    }
+
+    /**
+     * Returns the bit mask of the cells of the pattern, the bit {@code i}
+     * stands for the cell at index {@code i}.
+     *
+     * @return the bit mask of the cells of the pattern
+     */
+    public int getCellMask() {
+        return cellMask;
+    }
+
+    /**
+     * Returns the lower bound of the number of moves stored for the projection
+     * of the specified state.
+     *
+     * @param packed the packed state
+     * @return the lower bound stored for the projection of the state
+     */
+    public int get(long packed) {
+        long index = indexOf(packed, cells);
+        int b = entries.get((int) (index >>> 1));
+        return (index & 1) == 0 ? b & 0xF : (b >>> 4) & 0xF;
+    }
+
+    /**
+     * Returns the cells of the pattern given by the bit mask.
+     *
+     * @param cellMask the bit mask of the cells
+     * @return the indices of the cells in increasing order
+     */
+    static int[] cellsOf(int cellMask) {
+        int[] cells = new int[Integer.bitCount(cellMask)];
+        for (int i = 0, k = 0; i < PackedState.CELLS; ++i) {
+            if ((cellMask & (1 << i)) != 0) {
+                cells[k++] = i;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Returns the number of the entries of the pattern database.
+     *
+     * @param cellMask the bit mask of the cells of the pattern
+     * @return the number of the entries
+     */
+    static long sizeOf(int cellMask) {
+        long size = PackedState.CELLS;
+        for (int i = 0; i < Integer.bitCount(cellMask); ++i) {
+            size *= RADIX;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the index of the projection of the specified state: the index
+     * of the empty place followed by the base-6 digits of the dices in the
+     * cells of the pattern, the empty place counting as digit {@code 0}.
+     *
+     * @param packed the packed state
+     * @param cells the cells of the pattern
+     * @return the index of the projection
+     */
+    static long indexOf(long packed, int[] cells) {
+        long index = PackedState.getEmptyIndex(packed);
+        for (int cell : cells) {
+            index = index * RADIX + Math.max(PackedState.getValue(packed, cell) - 1, 0);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the checksum of the transition table of {@link Cube} and
+     * the pattern.
+     *
+     * @param cellMask the bit mask of the cells of the pattern
+     * @return the checksum
+     */
+    static long checksum(int cellMask) {
+        CRC32 crc = new CRC32();
+        for (Cube cube : Cube.values()) {
+            if (cube == Cube.EMPTY) {
+                continue;
+            }
+            for (Direction direction : Direction.values()) {
+                crc.update(cube.rollTo(direction).getValue());
+                crc.update(direction.getDx());
+                crc.update(direction.getDy());
+            }
+        }
+        crc.update(ByteBuffer.allocate(Integer.BYTES).putInt(cellMask).array());
+        return crc.getValue();
+    }
+
+}
@@ -0,0 +1,286 @@
+package rollingcubes.solver;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.Cube;
+import rollingcubes.state.Direction;
+import rollingcubes.state.PackedState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class for generating the pattern databases offline.
+ *
+ * <p>The distances are computed by a breadth-first search backwards from the
+ * solved projections. Rolling a dice from a cell outside of the pattern costs
+ * nothing, and such a dice may arrive into the pattern with any value, since
+ * the projection does not know it.
+ *
+ * @see PatternDatabase
+ */
+@Slf4j
+public class PatternDatabaseGenerator {
+
+    /**
+     * The bit mask of the upper half of the board, the first two rows.
+     */
+    public static final int UPPER_HALF = 0x00FF;
+
+    /**
+     * The bit mask of the lower half of the board, the last two rows.
+     */
+    public static final int LOWER_HALF = 0xFF00;
+
+    /**
+     * The maximal number of the cells of a pattern, so that the file can
+     * be mapped into memory in one piece.
+     */
+    public static final int MAX_CELLS = 10;
+
+    private static final byte UNSEEN = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The value of the dice before rolling it to a direction, indexed by
+     * {@code direction * 7 + value after the roll}.
+     */
+    private static final int[] INVERSE_ROLL = new int[DIRECTIONS.length * Cube.values().length];
+
+    static {
+        for (Cube cube : Cube.values()) {
+            if (cube == Cube.EMPTY) {
+                continue;
+            }
+            for (Direction direction : DIRECTIONS) {
+                INVERSE_ROLL[direction.ordinal() * Cube.values().length + cube.rollTo(direction).getValue()] = cube.getValue();
+            }
+        }
+    }
+
+    private final int cellMask;
+
+    private final int[] cells;
+
+    /**
+     * The position of each cell in the pattern, {@code -1} for the cells
+     * outside of the pattern.
+     */
+    private final int[] positions = new int[PackedState.CELLS];
+
+    /**
+     * The place values of the digits of the cells of the pattern.
+     */
+    private final long[] weights;
+
+    /**
+     * The place value of the index of the empty place.
+     */
+    private final long emptyWeight;
+
+    private final int size;
+
+    /**
+     * Creates a {@code PatternDatabaseGenerator} object.
+     *
+     * @param cellMask the bit mask of the cells of the pattern
+     * @throws IllegalArgumentException if the pattern is empty or it has more
+     * cells than {@link #MAX_CELLS}
+     */
+    public PatternDatabaseGenerator(int cellMask) {
+        if (cellMask == 0 || (cellMask & ~0xFFFF) != 0 || Integer.bitCount(cellMask) > MAX_CELLS) {
+            throw new IllegalArgumentException();
+        }
+        this.cellMask = cellMask;
+        this.cells = PatternDatabase.cellsOf(cellMask);
+        this.size = (int) PatternDatabase.sizeOf(cellMask);
+        this.weights = new long[cells.length];
+        Arrays.fill(positions, -1);
+        long weight = 1;
+        for (int k = cells.length - 1; k >= 0; --k) {
+            positions[cells[k]] = k;
+            weights[k] = weight;
+            weight *= PatternDatabase.RADIX;
+        }
+        this.emptyWeight = weight;
+    }
+
+    /**
+     * Computes the distances of all projections.
+     *
+     * @return the distances indexed as {@link PatternDatabase#get(long)} reads them
+     */
+    public byte[] generate() {
+        long start = System.nanoTime();
+        byte[] distance = new byte[size];
+        Arrays.fill(distance, UNSEEN);
+        int[] queue = new int[size];
+        int tail = 0;
+        for (int empty = 0; empty < PackedState.CELLS; ++empty) {
+            long goal = empty * emptyWeight;
+            for (int k = 0; k < cells.length; ++k) {
+                if (cells[k] != empty) {
+                    goal += weights[k] * (Cube.CUBE2.getValue() - 1);
+                }
+            }
+            distance[(int) goal] = 0;
+            queue[tail++] = (int) goal;
+        }
+        int layerStart = 0;
+        int[] digits = new int[cells.length];
+        for (int depth = 0; layerStart < tail; ++depth) {
+            // the predecessors reachable for free belong to the same layer
+            for (int head = layerStart; head < tail; ++head) {
+                tail = expand(queue[head], digits, distance, queue, tail, depth, false);
+            }
+            int layerEnd = tail;
+            for (int head = layerStart; head < layerEnd; ++head) {
+                tail = expand(queue[head], digits, distance, queue, tail, depth + 1, true);
+            }
+            log.debug("Layer {} of pattern {} has {} projections", depth,
+                    Integer.toBinaryString(cellMask), layerEnd - layerStart);
+            layerStart = layerEnd;
+        }
+        for (int i = 0; i < size; ++i) {
+            if (distance[i] == UNSEEN) {
+                distance[i] = 0;
+            }
+        }
+        log.info("Pattern {} generated in {} ms", Integer.toBinaryString(cellMask),
+                (System.nanoTime() - start) / 1_000_000);
+        return distance;
+    }
+
+    /**
+     * Enqueues the unseen predecessors of a projection reachable by moves of
+     * the specified cost.
+     */
+    private int expand(int index, int[] digits, byte[] distance, int[] queue, int tail, int depth, boolean costly) {
+        int empty = decode(index, digits);
+        int row = empty / PackedState.SIZE;
+        int col = empty % PackedState.SIZE;
+        for (Direction direction : DIRECTIONS) {
+            // the dice now at target has been rolled from the empty place to direction
+            int targetRow = row + direction.getDx();
+            int targetCol = col + direction.getDy();
+            if (targetRow < 0 || targetRow >= PackedState.SIZE || targetCol < 0 || targetCol >= PackedState.SIZE) {
+                continue;
+            }
+            int target = targetRow * PackedState.SIZE + targetCol;
+            boolean fromPattern = positions[empty] >= 0;
+            if (fromPattern != costly) {
+                continue;
+            }
+            long base = index + (target - empty) * emptyWeight;
+            if (positions[target] >= 0) {
+                // the target becomes the empty place of the predecessor
+                base -= weights[positions[target]] * digits[positions[target]];
+            }
+            if (! fromPattern) {
+                tail = visit((int) base, distance, queue, tail, depth);
+            } else if (positions[target] >= 0) {
+                int value = INVERSE_ROLL[direction.ordinal() * Cube.values().length + digits[positions[target]] + 1];
+                tail = visit((int) (base + weights[positions[empty]] * (value - 1)), distance, queue, tail, depth);
+            } else {
+                for (int digit = 0; digit < PatternDatabase.RADIX; ++digit) {
+                    tail = visit((int) (base + weights[positions[empty]] * digit), distance, queue, tail, depth);
+                }
+            }
+        }
+        return tail;
+    }
+
+    private int visit(int index, byte[] distance, int[] queue, int tail, int depth) {
+        if (distance[index] == UNSEEN) {
+            distance[index] = (byte) Math.min(depth, Byte.MAX_VALUE);
+            queue[tail++] = index;
+        }
+        return tail;
+    }
+
+    private int decode(int index, int[] digits) {
+        for (int k = cells.length - 1; k >= 0; --k) {
+            digits[k] = index % PatternDatabase.RADIX;
+            index /= PatternDatabase.RADIX;
+        }
+        return index;
+    }
+
+    /**
+     * Generates the pattern database and writes it into the specified file.
+     * The file is replaced atomically, so a reader never sees a partial file.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file can not be written
+     */
+    public void write(Path path) throws IOException {
+        byte[] distance = generate();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(PatternDatabase.HEADER_SIZE)
+                    .putInt(PatternDatabase.MAGIC)
+                    .putInt(PatternDatabase.VERSION)
+                    .putLong(PatternDatabase.checksum(cellMask))
+                    .putInt(cellMask)
+                    .putInt(0)
+                    .putLong(size)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            for (int i = 0; i < size; i += 2) {
+                int low = Math.min(distance[i], PatternDatabase.MAX_DISTANCE);
+                int high = i + 1 < size ? Math.min(distance[i + 1], PatternDatabase.MAX_DISTANCE) : 0;
+                buffer.put((byte) (high << 4 | low));
+                if (! buffer.hasRemaining()) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Pattern database written to {}", path);
+    }
+
+    /**
+     * Returns the name of the file of the pattern database of the specified cells.
+     *
+     * @param cellMask the bit mask of the cells of the pattern
+     * @return the name of the file
+     */
+    public static String fileName(int cellMask) {
+        return String.format("pattern-%04x.pdb", cellMask);
+    }
+
+    /**
+     * Generates the pattern databases of the {@link #UPPER_HALF} and the
+     * {@link #LOWER_HALF} of the board.
+     *
+     * @param args the directory of the files, the current directory by default
+     * @throws IOException if a file can not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : ".");
+        Files.createDirectories(directory);
+        for (int cellMask : new int[] {UPPER_HALF, LOWER_HALF}) {
+            new PatternDatabaseGenerator(cellMask).write(directory.resolve(fileName(cellMask)));
+        }
+    }
+
+}
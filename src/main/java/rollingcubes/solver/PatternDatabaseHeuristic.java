@@ -0,0 +1,92 @@
+package rollingcubes.solver;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heuristic adding the values of disjoint pattern databases. The result is
+ * never less than that of the {@link DieDistanceHeuristic}.
+ *
+ * @see PatternDatabase
+ */
+@Slf4j
+public class PatternDatabaseHeuristic implements Heuristic {
+
+    /**
+     * The default directory of the pattern database files.
+     */
+    public static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".rollingcubes", "pdb");
+
+    private final PatternDatabase[] databases;
+
+    private final DieDistanceHeuristic dieDistanceHeuristic = new DieDistanceHeuristic();
+
+    /**
+     * Creates a {@code PatternDatabaseHeuristic} object.
+     *
+     * @param databases the pattern databases of disjoint patterns
+     * @throws IllegalArgumentException if the patterns are not disjoint
+     */
+    public PatternDatabaseHeuristic(List<PatternDatabase> databases) {
+        int cells = 0;
+        for (PatternDatabase database : databases) {
+            if ((cells & database.getCellMask()) != 0) {
+                throw new IllegalArgumentException("The patterns are not disjoint");
+            }
+            cells |= database.getCellMask();
+        }
+        this.databases = databases.toArray(new PatternDatabase[0]);
+    }
+
+    /**
+     * Opens the pattern databases of the {@link PatternDatabaseGenerator#UPPER_HALF}
+     * and the {@link PatternDatabaseGenerator#LOWER_HALF} in the specified directory.
+     *
+     * @param directory the directory of the files written by
+     *                  {@link PatternDatabaseGenerator#main(String[])}
+     * @return the heuristic
+     * @throws IOException if a file can not be read or it is not valid
+     */
+    public static PatternDatabaseHeuristic open(Path directory) throws IOException {
+        List<PatternDatabase> databases = new ArrayList<>();
+        for (int cellMask : new int[] {PatternDatabaseGenerator.UPPER_HALF, PatternDatabaseGenerator.LOWER_HALF}) {
+            databases.add(PatternDatabase.open(directory.resolve(PatternDatabaseGenerator.fileName(cellMask))));
+        }
+        return new PatternDatabaseHeuristic(databases);
+    }
+
+    /**
+     * Returns the pattern database heuristic if the files are present and valid in
+     * the specified directory, or the {@link DieDistanceHeuristic} otherwise.
+     *
+     * @param directory the directory of the files written by
+     *                  {@link PatternDatabaseGenerator#main(String[])}
+     * @return the best available heuristic
+     */
+    public static Heuristic openOrDefault(Path directory) {
+        if (Files.isDirectory(directory)) {
+            try {
+                return open(directory);
+            } catch (IOException e) {
+                log.warn("Pattern databases can not be used: {}", e.getMessage());
+            }
+        }
+        return new DieDistanceHeuristic();
+    }
+
+    @Override
+    public int estimate(long packed) {
+        int sum = 0;
+        for (PatternDatabase database : databases) {
+            sum += database.get(packed);
+        }
+        return Math.max(sum, dieDistanceHeuristic.estimate(packed));
+    }
+
+}
@@ -0,0 +1,32 @@
+package rollingcubes.solver;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Class for an optimal solution found by the {@link Solver}.
+ */
+@Value
+public class Solution {
+
+    /**
+     * The moves leading to the solved state, in the order they must be made.
+     */
+    List<Move> moves;
+
+    /**
+     * The statistics of the search.
+     */
+    SolverStatistics statistics;
+
+    /**
+     * Returns the number of the moves of the solution.
+     *
+     * @return the number of the moves of the solution
+     */
+    public int getLength() {
+        return moves.size();
+    }
+
+}
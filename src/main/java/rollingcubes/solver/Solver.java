@@ -0,0 +1,192 @@
+package rollingcubes.solver;
+
+import lombok.extern.slf4j.Slf4j;
+import rollingcubes.state.PackedState;
+import rollingcubes.state.RollingCubesState;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Class for finding optimal solutions using iterative deepening A* (IDA*).
+ *
+ * <p>The search works on {@link PackedState packed states}, so its memory
+ * usage is proportional to the length of the solution only. A {@code Solver}
+ * object is not thread-safe, each thread must use its own instance.
+ */
+@Slf4j
+public class Solver {
+
+    /**
+     * The default maximal number of the nodes expanded by a single search.
+     */
+    public static final long DEFAULT_MAX_NODES = 200_000_000L;
+
+    private static final int FOUND = -1;
+
+    private static final int CHECK_INTERVAL = 1 << 16;
+
+    private final Heuristic heuristic;
+
+    private final long maxNodes;
+
+    private int[] path;
+
+    private long[][] successors;
+
+    private long nodesExpanded;
+
+    private boolean aborted;
+
+    private int lowerBound;
+
+    private SolverStatistics statistics;
+
+    /**
+     * Creates a {@code Solver} object using the {@link DieDistanceHeuristic}
+     * and the {@link #DEFAULT_MAX_NODES} limit.
+     */
+    public Solver() {
+        this(new DieDistanceHeuristic(), DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * Creates a {@code Solver} object.
+     *
+     * @param heuristic the admissible heuristic guiding the search
+     * @param maxNodes the maximal number of the nodes expanded by a single
+     *                 search, the search gives up when it is exceeded
+     */
+    public Solver(Heuristic heuristic, long maxNodes) {
+        this.heuristic = heuristic;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Finds an optimal solution of the specified state.
+     *
+     * @param state the state to be solved
+     * @return an optimal solution, or an empty {@link Optional} if the search
+     * has exceeded the node limit or the thread has been interrupted
+     */
+    public Optional<Solution> solve(RollingCubesState state) {
+        return solve(state.toPacked());
+    }
+
+    /**
+     * Finds an optimal solution of the specified packed state.
+     *
+     * @param packed the packed state to be solved
+     * @return an optimal solution, or an empty {@link Optional} if the search
+     * has exceeded the node limit or the thread has been interrupted
+     */
+    public Optional<Solution> solve(long packed) {
+        long start = System.nanoTime();
+        nodesExpanded = 0;
+        aborted = false;
+        int bound = heuristic.estimate(packed);
+        while (true) {
+            lowerBound = bound;
+            path = new int[bound + 1];
+            successors = new long[bound + 1][PackedState.MAX_SUCCESSORS];
+            log.trace("Searching with bound {}", bound);
+            int result = search(packed, 0, bound, -1);
+            if (result == FOUND) {
+                List<Move> moves = new ArrayList<>(bound);
+                for (int i = 0; i < bound; ++i) {
+                    moves.add(new Move(path[i] / PackedState.SIZE, path[i] % PackedState.SIZE));
+                }
+                statistics = statistics(start);
+                log.debug("Solution of length {} found, {} nodes expanded in {}",
+                        bound, statistics.getNodesExpanded(), statistics.getWallTime());
+                return Optional.of(new Solution(List.copyOf(moves), statistics));
+            }
+            if (aborted || result == Integer.MAX_VALUE) {
+                statistics = statistics(start);
+                log.debug("Search aborted at bound {} after {} nodes", bound, nodesExpanded);
+                return Optional.empty();
+            }
+            bound = result;
+        }
+    }
+
+    /**
+     * Returns the lower bound of the solution length proven by the last search.
+     * When the last search has found a solution, it is the length of
+     * the solution.
+     *
+     * @return the lower bound of the solution length proven by the last search
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Returns the statistics of the last search, including the aborted ones.
+     *
+     * @return the statistics of the last search, or {@code null} if no search
+     * has been made
+     */
+    public SolverStatistics getStatistics() {
+        return statistics;
+    }
+
+    private SolverStatistics statistics(long start) {
+        return new SolverStatistics(nodesExpanded, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private int search(long packed, int g, int bound, int previousEmpty) {
+        ++nodesExpanded;
+        int f = g + heuristic.estimate(packed);
+        if (f > bound) {
+            return f;
+        }
+        if (PackedState.isSolved(packed)) {
+            return FOUND;
+        }
+        if ((nodesExpanded & (CHECK_INTERVAL - 1)) == 0
+                && (nodesExpanded > maxNodes || Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+        if (aborted) {
+            return Integer.MAX_VALUE;
+        }
+        int empty = PackedState.getEmptyIndex(packed);
+        long[] next = successors[g];
+        int count = PackedState.successors(packed, next);
+        int min = Integer.MAX_VALUE;
+        for (int k = 0; k < count; ++k) {
+            int index = PackedState.getEmptyIndex(next[k]);
+            if (index == previousEmpty) {
+                continue;
+            }
+            path[g] = index;
+            int result = search(next[k], g + 1, bound, empty);
+            if (result == FOUND) {
+                return FOUND;
+            }
+            if (aborted) {
+                return Integer.MAX_VALUE;
+            }
+            min = Math.min(min, result);
+        }
+        return min;
+    }
+
+    public static void main(String[] args) {
+        Solver solver = new Solver();
+        for (int[][] start : List.of(RollingCubesState.NEAR_GOAL, RollingCubesState.INITIAL)) {
+            RollingCubesState state = new RollingCubesState(start);
+            System.out.println(state);
+            solver.solve(state).ifPresentOrElse(solution -> {
+                System.out.println(solution.getMoves());
+                SolverStatistics statistics = solution.getStatistics();
+                System.out.printf("%d moves, %d nodes, %.0f nodes/s, %s%n", solution.getLength(),
+                        statistics.getNodesExpanded(), statistics.getNodesPerSecond(), statistics.getWallTime());
+            }, () -> System.out.println("No solution found within the node limit"));
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package rollingcubes.solver;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Class for the statistics of a search.
+ */
+@Value
+public class SolverStatistics {
+
+    /**
+     * The number of the nodes expanded by the search.
+     */
+    long nodesExpanded;
+
+    /**
+     * The wall-clock time of the search.
+     */
+    Duration wallTime;
+
+    /**
+     * Returns the number of the nodes expanded per second.
+     *
+     * @return the number of the nodes expanded per second
+     */
+    public double getNodesPerSecond() {
+        long nanos = wallTime.toNanos();
+        return nanos == 0 ? 0 : nodesExpanded * 1e9 / nanos;
+    }
+
+}
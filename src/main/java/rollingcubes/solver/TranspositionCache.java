@@ -0,0 +1,217 @@
+package rollingcubes.solver;
+
+import rollingcubes.state.PackedState;
+
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Process-wide cache of the optimal number of the remaining moves and the best
+ * move of the packed states.
+ *
+ * <p>The cache is a set-associative table of primitive arrays with a fixed
+ * number of entries, so its memory usage never exceeds the size given at
+ * construction. When all the {@value #WAYS} entries of a set are used, the
+ * least recently used one is evicted. The sets are guarded by striped
+ * {@link StampedLock}s, and the lookups use optimistic reads, so concurrent
+ * readers never block each other.
+ */
+@Singleton
+public class TranspositionCache {
+
+    /**
+     * The default memory limit of the cache in bytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 16L << 20;
+
+    /**
+     * The value returned by {@link #get(long)} when the state is not cached.
+     */
+    public static final int MISS = -1;
+
+    /**
+     * The number of the entries of a set.
+     */
+    public static final int WAYS = 4;
+
+    /**
+     * The memory used by an entry in bytes: the key, the value and the
+     * time of the last access.
+     */
+    public static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private static final int STRIPES = 64;
+
+    private static final int MOVE_BITS = 8;
+
+    private static final long FREE = 0;
+
+    private final long[] keys;
+
+    private final int[] values;
+
+    private final int[] accessed;
+
+    private final int setMask;
+
+    private final StampedLock[] locks = new StampedLock[STRIPES];
+
+    private final AtomicInteger clock = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Creates a {@code TranspositionCache} object using at most
+     * {@link #DEFAULT_MAX_BYTES} bytes.
+     */
+    public TranspositionCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a {@code TranspositionCache} object.
+     *
+     * @param maxBytes the maximal memory usage of the cache in bytes
+     * @throws IllegalArgumentException if {@code maxBytes} is less than the
+     * size of a set or too large for a single table
+     */
+    public TranspositionCache(long maxBytes) {
+        long sets = Long.highestOneBit(maxBytes / (ENTRY_BYTES * WAYS));
+        if (sets < 1 || sets * WAYS > 1 << 30) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = (int) sets * WAYS;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.accessed = new int[capacity];
+        this.setMask = (int) sets - 1;
+        for (int i = 0; i < STRIPES; ++i) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * Returns the entry of the specified state.
+     *
+     * @param packed the packed state
+     * @return the entry, which can be decoded with {@link #distanceOf(int)}
+     * and {@link #moveOf(int)}, or {@link #MISS} if the state is not cached
+     */
+    public int get(long packed) {
+        int set = setOf(packed);
+        StampedLock lock = locks[set & (STRIPES - 1)];
+        long stamp = lock.tryOptimisticRead();
+        int value = find(set, packed + 1);
+        if (! lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = find(set, packed + 1);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (value == MISS) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    private int find(int set, long key) {
+        int base = set * WAYS;
+        for (int i = base; i < base + WAYS; ++i) {
+            if (keys[i] == key) {
+                int value = values[i];
+                // a racy write only makes the recency information approximate
+                accessed[i] = clock.get();
+                return value;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the optimal number of the remaining moves and the best move of
+     * the specified state.
+     *
+     * @param packed the packed state
+     * @param distance the optimal number of the moves needed to solve the state
+     * @param move the best move, {@code null} if the state is solved
+     */
+    public void put(long packed, int distance, Move move) {
+        int moveIndex = move == null ? 0 : move.getRow() * PackedState.SIZE + move.getCol();
+        int value = distance << MOVE_BITS | moveIndex;
+        long key = packed + 1;
+        int set = setOf(packed);
+        int base = set * WAYS;
+        StampedLock lock = locks[set & (STRIPES - 1)];
+        long stamp = lock.writeLock();
+        try {
+            int victim = base;
+            for (int i = base; i < base + WAYS; ++i) {
+                if (keys[i] == key || keys[i] == FREE) {
+                    victim = i;
+                    break;
+                }
+                if (accessed[i] - accessed[victim] < 0) {
+                    victim = i;
+                }
+            }
+            if (keys[victim] == FREE) {
+                size.increment();
+            } else if (keys[victim] != key) {
+                evictions.increment();
+            }
+            keys[victim] = key;
+            values[victim] = value;
+            accessed[victim] = clock.incrementAndGet();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the optimal number of the remaining moves stored in an entry.
+     *
+     * @param entry the entry returned by {@link #get(long)}
+     * @return the optimal number of the remaining moves
+     */
+    public static int distanceOf(int entry) {
+        return entry >>> MOVE_BITS;
+    }
+
+    /**
+     * Returns the best move stored in an entry.
+     *
+     * @param entry the entry returned by {@link #get(long)}
+     * @return the best move
+     */
+    public static Move moveOf(int entry) {
+        int index = entry & ((1 << MOVE_BITS) - 1);
+        return new Move(index / PackedState.SIZE, index % PackedState.SIZE);
+    }
+
+    /**
+     * Returns the counters of the cache.
+     *
+     * @return the counters of the cache
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size.sum(), keys.length);
+    }
+
+    private int setOf(long packed) {
+        long h = packed * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & setMask;
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides classes for computing optimal solutions of the rolling-the-dice game.
+ */
+package rollingcubes.solver;
@@ -0,0 +1,16 @@
+package rollingcubes.state;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listener logging the moves at the {@code INFO} level.
+ */
+@Slf4j
+public class LoggingMoveListener implements MoveListener {
+
+    @Override
+    public void onMove(MoveEvent event) {
+        log.info("Dice at ({},{}) is rolled to {}", event.getRow(), event.getCol(), event.getDirection());
+    }
+
+}
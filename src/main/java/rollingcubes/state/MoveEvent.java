@@ -0,0 +1,36 @@
+package rollingcubes.state;
+
+import lombok.Value;
+
+/**
+ * Class for the description of a move passed to the {@link MoveListener}s.
+ */
+@Value
+public class MoveEvent {
+
+    /**
+     * The row of the dice before the move.
+     */
+    int row;
+
+    /**
+     * The column of the dice before the move.
+     */
+    int col;
+
+    /**
+     * The direction of the roll.
+     */
+    Direction direction;
+
+    /**
+     * The dice before the move.
+     */
+    Cube from;
+
+    /**
+     * The dice after the move.
+     */
+    Cube to;
+
+}
@@ -0,0 +1,17 @@
+package rollingcubes.state;
+
+/**
+ * Interface for the listeners notified about the moves made on a
+ * {@link RollingCubesState}.
+ */
+@FunctionalInterface
+public interface MoveListener {
+
+    /**
+     * Called after a dice has been rolled to the empty place.
+     *
+     * @param event the move made
+     */
+    void onMove(MoveEvent event);
+
+}
@@ -0,0 +1,355 @@
+package rollingcubes.state;
+
+import java.util.Arrays;
+
+/**
+ * Class for the compact, immutable representation of the board packed into
+ * a single {@code long}.
+ *
+ * <p>The value of the cell at index {@code row * 4 + col} is stored on the bits
+ * {@code 3 * index .. 3 * index + 2} as returned by {@link Cube#getValue()},
+ * and the index of the empty place is stored on the bits {@code 48 .. 51}.
+ * Since every operation returns a new {@code long}, copying a state costs
+ * nothing.
+ */
+public final class PackedState {
+
+    /**
+     * The number of the rows and columns of the board.
+     */
+    public static final int SIZE = 4;
+
+    /**
+     * The number of the cells of the board.
+     */
+    public static final int CELLS = SIZE * SIZE;
+
+    private static final int BITS_PER_CELL = 3;
+
+    private static final long CELL_MASK = 0b111L;
+
+    private static final int EMPTY_SHIFT = CELLS * BITS_PER_CELL;
+
+    private static final long CELLS_MASK = (1L << EMPTY_SHIFT) - 1;
+
+    private static final long ALL_CUBE2 = replicate(Cube.CUBE2.getValue());
+
+    private static final int MAX_VALUE = Cube.values().length - 1;
+
+    /**
+     * The maximal number of the successors of a state.
+     */
+    public static final int MAX_SUCCESSORS = 4;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The indices of the cubes which can be rolled to the empty place,
+     * indexed by the index of the empty place.
+     */
+    private static final int[][] NEIGHBOURS = new int[CELLS][];
+
+    /**
+     * The ordinals of the directions of the rolls matching {@link #NEIGHBOURS}.
+     */
+    private static final int[][] NEIGHBOUR_DIRECTIONS = new int[CELLS][];
+
+    /**
+     * The transition table of {@link Cube#rollTo(Direction)} indexed by
+     * {@code value * 4 + direction.ordinal()}.
+     */
+    private static final byte[] ROLL = new byte[Cube.values().length * DIRECTIONS.length];
+
+    static {
+        for (Cube cube : Cube.values()) {
+            for (Direction direction : DIRECTIONS) {
+                ROLL[cube.getValue() * DIRECTIONS.length + direction.ordinal()] =
+                        (byte) (cube == Cube.EMPTY ? 0 : cube.rollTo(direction).getValue());
+            }
+        }
+        for (int empty = 0; empty < CELLS; ++empty) {
+            int[] neighbours = new int[MAX_SUCCESSORS];
+            int[] directions = new int[MAX_SUCCESSORS];
+            int count = 0;
+            for (Direction direction : DIRECTIONS) {
+                int row = empty / SIZE - direction.getDx();
+                int col = empty % SIZE - direction.getDy();
+                if (0 <= row && row < SIZE && 0 <= col && col < SIZE) {
+                    neighbours[count] = row * SIZE + col;
+                    directions[count++] = direction.ordinal();
+                }
+            }
+            NEIGHBOURS[empty] = Arrays.copyOf(neighbours, count);
+            NEIGHBOUR_DIRECTIONS[empty] = Arrays.copyOf(directions, count);
+        }
+    }
+
+    /**
+     * The packed representation of {@link RollingCubesState#INITIAL}.
+     */
+    public static final long INITIAL = pack(RollingCubesState.INITIAL);
+
+    /**
+     * The packed representation of {@link RollingCubesState#NEAR_GOAL}.
+     */
+    public static final long NEAR_GOAL = pack(RollingCubesState.NEAR_GOAL);
+
+    private PackedState() {
+    }
+
+    private static long replicate(int value) {
+        long result = 0;
+        for (int i = 0; i < CELLS; ++i) {
+            result |= (long) value << (i * BITS_PER_CELL);
+        }
+        return result;
+    }
+
+    /**
+     * Packs the specified array into a {@code long}.
+     *
+     * @param a an array in the size 4&#xd7;4 representing the board
+     * @return the packed state
+     * @throws IllegalArgumentException if the array is not
+     * a valid instance of the board
+     */
+    public static long pack(int[][] a) {
+        return new RollingCubesState(a).toPacked();
+    }
+
+    /**
+     * Unpacks the specified state into an array that can be passed
+     * to {@link RollingCubesState#RollingCubesState(int[][])}.
+     *
+     * @param packed the packed state
+     * @return an array in the size 4&#xd7;4 representing the board
+     */
+    public static int[][] unpack(long packed) {
+        int[][] a = new int[SIZE][SIZE];
+        for (int i = 0; i < SIZE; ++i) {
+            for (int j = 0; j < SIZE; ++j) {
+                a[i][j] = getValue(packed, i, j);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Returns the packed state of the board consisting of the specified
+     * values and the empty place.
+     *
+     * @param values the values of the cells indexed by {@code row * 4 + col}
+     * @param emptyIndex the index of the empty place
+     * @return the packed state
+     */
+    static long of(int[] values, int emptyIndex) {
+        long packed = (long) emptyIndex << EMPTY_SHIFT;
+        for (int i = 0; i < CELLS; ++i) {
+            packed |= (long) values[i] << (i * BITS_PER_CELL);
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the value of the cell at the specified index.
+     *
+     * @param packed the packed state
+     * @param index the index of the cell, {@code row * 4 + col}
+     * @return the value of the cell as returned by {@link Cube#getValue()}
+     */
+    public static int getValue(long packed, int index) {
+        return (int) ((packed >>> (index * BITS_PER_CELL)) & CELL_MASK);
+    }
+
+    /**
+     * Returns the value of the cell in the specified position.
+     *
+     * @param packed the packed state
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the value of the cell as returned by {@link Cube#getValue()}
+     */
+    public static int getValue(long packed, int row, int col) {
+        return getValue(packed, row * SIZE + col);
+    }
+
+    /**
+     * Returns the index of the empty place, {@code emptyRow * 4 + emptyCol}.
+     *
+     * @param packed the packed state
+     * @return the index of the empty place
+     */
+    public static int getEmptyIndex(long packed) {
+        return (int) (packed >>> EMPTY_SHIFT);
+    }
+
+    /**
+     * Returns the row of the empty place.
+     *
+     * @param packed the packed state
+     * @return the row of the empty place
+     */
+    public static int getEmptyRow(long packed) {
+        return getEmptyIndex(packed) / SIZE;
+    }
+
+    /**
+     * Returns the column of the empty place.
+     *
+     * @param packed the packed state
+     * @return the column of the empty place
+     */
+    public static int getEmptyCol(long packed) {
+        return getEmptyIndex(packed) % SIZE;
+    }
+
+    /**
+     * Checks whether the specified value is a valid packed state without
+     * unpacking it: every cell holds the value of a {@link Cube}, the only
+     * empty cell is at the empty index, and the bits above it are zero.
+     *
+     * @param packed the value to be checked
+     * @return {@code true} if the value is a valid packed state,
+     * {@code false} otherwise
+     */
+    public static boolean isValid(long packed) {
+        int emptyIndex = getEmptyIndex(packed);
+        if (emptyIndex >= CELLS) {
+            return false;
+        }
+        for (int i = 0; i < CELLS; ++i) {
+            int value = getValue(packed, i);
+            if (value > MAX_VALUE || (value == Cube.EMPTY.getValue()) != (i == emptyIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the game is solved or not.
+     *
+     * @param packed the packed state
+     * @return {@code true} if the game is solved, {@code false} otherwise
+     */
+    public static boolean isSolved(long packed) {
+        long expected = ALL_CUBE2 & ~(CELL_MASK << (getEmptyIndex(packed) * BITS_PER_CELL));
+        return (packed & CELLS_MASK) == expected;
+    }
+
+    /**
+     * Returns, if a dice in it's current position is able to roll to the
+     * empty place.
+     *
+     * @param packed the packed state
+     * @param row the rolled cube's row
+     * @param col the rolled cube's column
+     * @return {@code true} if the cube is able to roll
+     * to the empty place, {@code false} otherwise
+     */
+    public static boolean canRollToEmptySpace(long packed, int row, int col) {
+        return 0 <= row && row < SIZE && 0 <= col && col < SIZE &&
+                Math.abs(getEmptyRow(packed) - row) + Math.abs(getEmptyCol(packed) - col) == 1;
+    }
+
+    /**
+     * Returns the direction where to cube is able to
+     * roll to; where the empty place is.
+     *
+     * @param packed the packed state
+     * @param row the rolled cube's row
+     * @param col the rolled cube's column
+     * @return the direction where to cube is able to roll to
+     * @throws IllegalArgumentException if the cube at its current position
+     * can not be rolled to
+     */
+    public static Direction getRollDirection(long packed, int row, int col) {
+        if (! canRollToEmptySpace(packed, row, col)) {
+            throw new IllegalArgumentException();
+        }
+        return DIRECTIONS[directionIndex(getEmptyRow(packed) - row, getEmptyCol(packed) - col)];
+    }
+
+    private static int directionIndex(int dx, int dy) {
+        if (dx == -1) {
+            return Direction.UP.ordinal();
+        }
+        if (dx == 1) {
+            return Direction.DOWN.ordinal();
+        }
+        return dy == 1 ? Direction.RIGHT.ordinal() : Direction.LEFT.ordinal();
+    }
+
+    /**
+     * Rolls the cube to the given direction, where the empty place is.
+     *
+     * @param packed the packed state
+     * @param row the rolled cube's row
+     * @param col the rolled cube's column
+     * @return the packed state after the move
+     * @throws IllegalArgumentException if the cube at its current position
+     * can not be rolled to
+     */
+    public static long rollToEmptySpace(long packed, int row, int col) {
+        Direction direction = getRollDirection(packed, row, col);
+        return roll(packed, row * SIZE + col, direction.ordinal());
+    }
+
+    /**
+     * Rolls the cube at the specified index to the empty place without
+     * checking whether the move is legal.
+     *
+     * @param packed the packed state
+     * @param index the index of the rolled cube, it must be a neighbour
+     *              of the empty place
+     * @param direction the ordinal of the {@link Direction} pointing from the
+     *                  cube to the empty place
+     * @return the packed state after the move
+     */
+    public static long roll(long packed, int index, int direction) {
+        int empty = getEmptyIndex(packed);
+        int rolled = ROLL[getValue(packed, index) * DIRECTIONS.length + direction];
+        long cells = packed & CELLS_MASK & ~(CELL_MASK << (index * BITS_PER_CELL));
+        cells |= (long) rolled << (empty * BITS_PER_CELL);
+        return cells | (long) index << EMPTY_SHIFT;
+    }
+
+    /**
+     * Stores the states reachable from the specified state by a single move
+     * into the specified array. The index of the empty place of a successor
+     * is the index of the cube rolled.
+     *
+     * @param packed the packed state
+     * @param successors the array of at least {@link #MAX_SUCCESSORS} elements
+     *                   the successors are stored into
+     * @return the number of the successors
+     */
+    public static int successors(long packed, long[] successors) {
+        int empty = getEmptyIndex(packed);
+        int[] neighbours = NEIGHBOURS[empty];
+        int[] directions = NEIGHBOUR_DIRECTIONS[empty];
+        for (int k = 0; k < neighbours.length; ++k) {
+            successors[k] = roll(packed, neighbours[k], directions[k]);
+        }
+        return neighbours.length;
+    }
+
+    /**
+     * Returns the string representation of the packed state in the same
+     * format as {@link RollingCubesState#toString()}.
+     *
+     * @param packed the packed state
+     * @return the string representation of the packed state
+     */
+    public static String toString(long packed) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < SIZE; ++i) {
+            for (int j = 0; j < SIZE; ++j) {
+                sb.append(getValue(packed, i, j)).append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+}
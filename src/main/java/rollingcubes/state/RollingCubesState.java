@@ -2,14 +2,16 @@ package rollingcubes.state;
 
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Setter;
-import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
 
 /**
  * Class for the dices state representation.
  */
 @Data
-@Slf4j
 public class RollingCubesState implements Cloneable {
 
     /**
@@ -50,6 +52,17 @@ public class RollingCubesState implements Cloneable {
     @Setter(AccessLevel.NONE)
     private int emptyCol;
 
+    private static final MoveListener[] NO_LISTENERS = new MoveListener[0];
+
+    /**
+     * The listeners notified about the moves, an empty array costs nothing
+     * when nobody is listening.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private MoveListener[] listeners = NO_LISTENERS;
+
     /**
      * Creates a {@code RollingCubesState} object representing the original state
      * of the board.
@@ -168,11 +181,72 @@ public class RollingCubesState implements Cloneable {
      */
     public void rollToEmptySpace(int row, int col) {
         Direction direction = getRollDirection(row, col);
-        log.info("Dice at ({},{}) is rolled to {}", row, col, direction);
-        tray[emptyRow][emptyCol] = tray[row][col].rollTo(direction);
+        Cube from = tray[row][col];
+        Cube to = from.rollTo(direction);
+        tray[emptyRow][emptyCol] = to;
         tray[row][col] = Cube.EMPTY;
         emptyRow = row;
         emptyCol = col;
+        if (listeners.length != 0) {
+            fireMove(new MoveEvent(row, col, direction, from, to));
+        }
+    }
+
+    private void fireMove(MoveEvent event) {
+        for (MoveListener listener : listeners) {
+            listener.onMove(event);
+        }
+    }
+
+    /**
+     * Registers a listener notified after each move.
+     *
+     * @param listener the listener
+     */
+    public void addMoveListener(MoveListener listener) {
+        MoveListener[] extended = Arrays.copyOf(listeners, listeners.length + 1);
+        extended[listeners.length] = listener;
+        listeners = extended;
+    }
+
+    /**
+     * Removes a listener registered by {@link #addMoveListener(MoveListener)}.
+     *
+     * @param listener the listener
+     */
+    public void removeMoveListener(MoveListener listener) {
+        listeners = Arrays.stream(listeners)
+                .filter(registered -> registered != listener)
+                .toArray(MoveListener[]::new);
+    }
+
+    /**
+     * Returns the packed representation of this state.
+     *
+     * @return the state packed into a {@code long}
+     * @see PackedState
+     */
+    public long toPacked() {
+        int[] values = new int[PackedState.CELLS];
+        for (int i = 0; i < 4; ++i) {
+            for (int j = 0; j < 4; ++j) {
+                values[i * 4 + j] = tray[i][j].getValue();
+            }
+        }
+        return PackedState.of(values, emptyRow * 4 + emptyCol);
+    }
+
+    /**
+     * Creates a {@code RollingCubesState} object from its packed representation.
+     *
+     * @param packed the state packed into a {@code long}
+     * @return the state represented by {@code packed}
+     * @throws IllegalArgumentException if {@code packed} is not
+     * a valid instance of the board.
+     * @see PackedState
+     */
+    public static RollingCubesState fromPacked(long packed) {
+        return new RollingCubesState(PackedState.unpack(packed));
     }
 
     public RollingCubesState clone() {
@@ -181,6 +255,7 @@ public class RollingCubesState implements Cloneable {
             copy = (RollingCubesState) super.clone();
         } catch (CloneNotSupportedException e) {
         }
+        copy.listeners = NO_LISTENERS;
         copy.tray = new Cube[tray.length][];
         for (int i = 0; i < tray.length; ++i) {
             copy.tray[i] = tray[i].clone();
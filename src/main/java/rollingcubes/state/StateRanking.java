@@ -0,0 +1,102 @@
+package rollingcubes.state;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class for the bijection between the legal boards and the range
+ * {@code [0, STATE_COUNT)}.
+ *
+ * <p>The rank of a board is the index of the empty place followed by the
+ * values of the 15 dices, in row-major order skipping the empty place, as
+ * digits in base 6. Both directions take a single pass over the cells.
+ */
+public final class StateRanking {
+
+    /**
+     * The number of the possible values of a dice.
+     */
+    private static final int RADIX = Cube.values().length - 1;
+
+    /**
+     * The number of the arrangements of the dice values, {@code 6^15}.
+     */
+    private static final long DICE_ARRANGEMENTS = power(RADIX, PackedState.CELLS - 1);
+
+    /**
+     * The number of the legal boards, {@code 16 * 6^15}.
+     */
+    public static final long STATE_COUNT = PackedState.CELLS * DICE_ARRANGEMENTS;
+
+    private StateRanking() {
+    }
+
+    private static long power(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; ++i) {
+            result *= base;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the rank of the specified packed state.
+     *
+     * @param packed the packed state
+     * @return the rank of the state in the range {@code [0, STATE_COUNT)}
+     */
+    public static long rank(long packed) {
+        int empty = PackedState.getEmptyIndex(packed);
+        long rank = 0;
+        for (int i = 0; i < PackedState.CELLS; ++i) {
+            if (i != empty) {
+                rank = rank * RADIX + PackedState.getValue(packed, i) - 1;
+            }
+        }
+        return empty * DICE_ARRANGEMENTS + rank;
+    }
+
+    /**
+     * Returns the rank of the specified state.
+     *
+     * @param state the state
+     * @return the rank of the state in the range {@code [0, STATE_COUNT)}
+     */
+    public static long rank(RollingCubesState state) {
+        return rank(state.toPacked());
+    }
+
+    /**
+     * Returns the packed state of the specified rank.
+     *
+     * @param rank the rank of the state
+     * @return the packed state
+     * @throws IllegalArgumentException if the rank is not in the range
+     * {@code [0, STATE_COUNT)}
+     */
+    public static long unrank(long rank) {
+        if (rank < 0 || rank >= STATE_COUNT) {
+            throw new IllegalArgumentException();
+        }
+        int empty = (int) (rank / DICE_ARRANGEMENTS);
+        long digits = rank % DICE_ARRANGEMENTS;
+        int[] values = new int[PackedState.CELLS];
+        for (int i = PackedState.CELLS - 1; i >= 0; --i) {
+            if (i != empty) {
+                values[i] = (int) (digits % RADIX) + 1;
+                digits /= RADIX;
+            }
+        }
+        return PackedState.of(values, empty);
+    }
+
+    /**
+     * Returns a legal board chosen uniformly at random.
+     *
+     * @param random the source of randomness
+     * @return the packed state of the board
+     */
+    public static long random(SplittableRandom random) {
+        return unrank(random.nextLong(STATE_COUNT));
+    }
+
+}
@@ -0,0 +1,24 @@
+package util.guice;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * Interceptor making the intercepted methods wait for the persistence
+ * service started by the {@link JpaInitializer}.
+ */
+class AwaitReadyInterceptor implements MethodInterceptor {
+
+    @Inject
+    private Provider<JpaInitializer> jpaInitializerProvider;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        jpaInitializerProvider.get().awaitReady();
+        return invocation.proceed();
+    }
+
+}
@@ -1,16 +1,127 @@
 package util.guice;
 
 import com.google.inject.persist.PersistService;
+import lombok.extern.slf4j.Slf4j;
+import util.jpa.IdSequences;
+import util.jpa.SchemaMigrator;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 
+/**
+ * Class starting the {@link PersistService} on a background thread, so that
+ * migrating the schema and building the {@code EntityManagerFactory} do not
+ * delay the first frame.
+ *
+ * <p>The DAO methods wait for the persistence to be ready by
+ * {@link #awaitReady()}, see {@link PersistenceModule}. The
+ * {@link StartupTask}s are run before the persistence is ready, so they have
+ * the database to themselves.
+ */
+@Slf4j
 @Singleton
 public class JpaInitializer {
 
+    /**
+     * The name of the binding of the persistence unit.
+     */
+    public static final String PERSISTENCE_UNIT = "persistenceUnit";
+
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+    private final Thread thread;
+
+    /**
+     * Creates a {@code JpaInitializer} object, and migrates the schema and
+     * starts the persistence service in the background.
+     *
+     * @param persistService the persistence service to be started
+     * @param persistenceUnit the name of the persistence unit
+     * @param startupTasks the tasks run before the persistence is ready
+     */
     @Inject
-    public JpaInitializer (PersistService persistService) {
-        persistService.start();
+    public JpaInitializer(PersistService persistService, @Named(PERSISTENCE_UNIT) String persistenceUnit,
+                          Set<StartupTask> startupTasks) {
+        thread = new Thread(() -> start(persistService, persistenceUnit, startupTasks), "jpa-initializer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void start(PersistService persistService, String persistenceUnit, Set<StartupTask> startupTasks) {
+        long start = System.nanoTime();
+        try {
+            new SchemaMigrator().migrate(persistenceUnit);
+            IdSequences.align(persistenceUnit);
+            long migrated = System.nanoTime();
+            log.info("Schema migrated in {} ms", (migrated - start) / 1_000_000);
+            persistService.start();
+            long started = System.nanoTime();
+            log.info("Persistence started in {} ms", (started - migrated) / 1_000_000);
+            runStartupTasks(startupTasks);
+            log.info("Startup tasks run in {} ms", (System.nanoTime() - started) / 1_000_000);
+            ready.complete(null);
+        } catch (IOException | SQLException | RuntimeException e) {
+            log.error("Persistence failed to start", e);
+            ready.completeExceptionally(e);
+        }
+    }
+
+    private static void runStartupTasks(Set<StartupTask> startupTasks) {
+        for (StartupTask task : startupTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Startup task {} failed", task, e);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the persistence service has been started.
+     *
+     * @return {@code true} if the persistence service has been started
+     * successfully, {@code false} otherwise
+     */
+    public boolean isReady() {
+        return ready.isDone() && ! ready.isCompletedExceptionally();
+    }
+
+    /**
+     * Returns a {@link CompletionStage} completed when the persistence service
+     * has been started, or completed exceptionally when it has failed to start.
+     *
+     * @return the {@link CompletionStage} of the start of the persistence service
+     */
+    public CompletionStage<Void> whenReady() {
+        return ready.minimalCompletionStage();
+    }
+
+    /**
+     * Waits until the persistence service has been started and the startup
+     * tasks have been run. Returns immediately when called by a startup task.
+     *
+     * @throws IllegalStateException if the persistence service has failed
+     * to start or the thread has been interrupted while waiting
+     */
+    public void awaitReady() {
+        if (ready.isDone() && ! ready.isCompletedExceptionally() || Thread.currentThread() == thread) {
+            return;
+        }
+        try {
+            ready.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Persistence failed to start", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the persistence to start", e);
+        }
     }
 
 }
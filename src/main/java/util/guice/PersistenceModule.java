@@ -1,7 +1,14 @@
 package util.guice;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.ProvidesIntoSet;
+import com.google.inject.name.Names;
+import com.google.inject.persist.Transactional;
 import com.google.inject.persist.jpa.JpaPersistModule;
+import util.jpa.ConnectionPoolMonitor;
+import util.jpa.GenericJpaDao;
 
 public class PersistenceModule extends AbstractModule {
 
@@ -13,8 +20,24 @@ public class PersistenceModule extends AbstractModule {
 
     @Override
     protected void configure() {
+        // Bound before the transaction interceptor of JpaPersistModule, so that
+        // a DAO method waits for the persistence before beginning a transaction
+        AwaitReadyInterceptor awaitReadyInterceptor = new AwaitReadyInterceptor();
+        requestInjection(awaitReadyInterceptor);
+        bindInterceptor(Matchers.subclassesOf(GenericJpaDao.class), Matchers.annotatedWith(Transactional.class),
+                awaitReadyInterceptor);
         install(new JpaPersistModule(jpaUnit));
+        bindConstant().annotatedWith(Names.named(JpaInitializer.PERSISTENCE_UNIT)).to(jpaUnit);
+        Multibinder.newSetBinder(binder(), StartupTask.class);
         bind(JpaInitializer.class).asEagerSingleton();
     }
 
+    /**
+     * Attaches the monitor to the connection pool as soon as it is started.
+     */
+    @ProvidesIntoSet
+    StartupTask startConnectionPoolMonitor(ConnectionPoolMonitor connectionPoolMonitor) {
+        return connectionPoolMonitor::start;
+    }
+
 }
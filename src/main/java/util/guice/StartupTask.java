@@ -0,0 +1,21 @@
+package util.guice;
+
+/**
+ * Interface for the tasks run by the {@link JpaInitializer} after the
+ * persistence service has been started and before it is ready. Since the DAO
+ * methods wait for the readiness, a task does not run concurrently with any
+ * other use of the database.
+ *
+ * <p>The tasks are registered by a set binding, for example by a
+ * {@link com.google.inject.multibindings.ProvidesIntoSet} method.
+ */
+@FunctionalInterface
+public interface StartupTask {
+
+    /**
+     * Runs the task. The DAO methods called by the task do not wait for
+     * the readiness.
+     */
+    void run();
+
+}
@@ -0,0 +1,139 @@
+package util.jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class for monitoring the HikariCP connection pool of a persistence unit.
+ *
+ * <p>The numbers of the active and idle connections and of the waiting threads
+ * are read from the pool, which also publishes them through JMX when
+ * {@code hibernate.hikari.registerMbeans} is set. The wait times are recorded
+ * by a metrics tracker attached to the pool by {@link #start()}, or on the
+ * first use of the monitor if it has not been started. A started monitor also
+ * logs the metrics periodically while the pool is in use.
+ */
+@Slf4j
+@Singleton
+public class ConnectionPoolMonitor {
+
+    /**
+     * The interval of logging the metrics.
+     */
+    public static final Duration LOG_INTERVAL = Duration.ofMinutes(1);
+
+    private final Provider<EntityManagerFactory> entityManagerFactoryProvider;
+
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private HikariDataSource dataSource;
+
+    private ScheduledExecutorService scheduler;
+
+    private long lastLogged;
+
+    /**
+     * Creates a {@code ConnectionPoolMonitor} object.
+     *
+     * @param entityManagerFactoryProvider the provider of the
+     *                                     {@link EntityManagerFactory} of the
+     *                                     persistence unit
+     */
+    @Inject
+    public ConnectionPoolMonitor(Provider<EntityManagerFactory> entityManagerFactoryProvider) {
+        this.entityManagerFactoryProvider = entityManagerFactoryProvider;
+    }
+
+    private synchronized HikariDataSource getDataSource() {
+        if (dataSource == null) {
+            ConnectionProvider connectionProvider = entityManagerFactoryProvider.get()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .getService(ConnectionProvider.class);
+            if (! connectionProvider.isUnwrappableAs(HikariDataSource.class)) {
+                throw new IllegalStateException("The persistence unit does not use HikariCP");
+            }
+            dataSource = connectionProvider.unwrap(HikariDataSource.class);
+            dataSource.setMetricsTrackerFactory((poolName, poolStats) -> new WaitTimeTracker());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Attaches the metrics tracker to the pool and starts logging the metrics
+     * every {@link #LOG_INTERVAL}. Called right after the persistence unit has
+     * been started, so that every connection handed out is recorded.
+     *
+     * @throws IllegalStateException if the persistence unit does not use HikariCP
+     */
+    public synchronized void start() {
+        getDataSource();
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "pool-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::logMetrics, LOG_INTERVAL.toMillis(), LOG_INTERVAL.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Logs the metrics unless the pool has not been used since the last time.
+     */
+    private void logMetrics() {
+        PoolMetrics metrics = getMetrics();
+        if (metrics.getAcquired() != lastLogged) {
+            lastLogged = metrics.getAcquired();
+            log.info("Connection pool: {}", metrics);
+        }
+    }
+
+    /**
+     * Returns the current state of the pool.
+     *
+     * @return the current state of the pool
+     * @throws IllegalStateException if the persistence unit does not use HikariCP
+     */
+    public PoolMetrics getMetrics() {
+        HikariPoolMXBean pool = getDataSource().getHikariPoolMXBean();
+        return new PoolMetrics(pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getThreadsAwaitingConnection(), acquired.sum(), Duration.ofNanos(totalWaitNanos.sum()),
+                Duration.ofNanos(maxWaitNanos.get()));
+    }
+
+    /**
+     * Tracker recording the time spent waiting for the connections.
+     */
+    private class WaitTimeTracker implements IMetricsTracker {
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquired.increment();
+            totalWaitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+    }
+
+}
@@ -1,9 +1,11 @@
 package util.jpa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -18,7 +20,7 @@ import com.google.inject.persist.Transactional;
 public abstract class GenericJpaDao<T> {
 
     protected Class<T> entityClass;
-    protected EntityManager entityManager;
+    protected Provider<EntityManager> entityManagerProvider;
 
     /**
      * Makes a {@code GenericJpaDao} object.
@@ -31,22 +33,34 @@ public abstract class GenericJpaDao<T> {
     }
 
     /**
-     * Returns the basis {@link EntityManager} instance.
+     * Returns the basis {@link EntityManager} instance of the current thread.
      *
      * @return the basis {@link EntityManager} instance
      */
     public EntityManager getEntityManager() {
-        return entityManager;
+        return entityManagerProvider.get();
     }
 
     /**
-     * Sets the basis {@link EntityManager} instance.
+     * Sets the provider of the basis {@link EntityManager} instances. Since
+     * an {@link EntityManager} is not thread-safe, each thread using the DAO
+     * gets its own instance from the provider.
      *
-     * @param entityManager the basis {@link EntityManager} instance
+     * @param entityManagerProvider the provider of the basis
+     *                              {@link EntityManager} instances
      */
     @Inject
+    public void setEntityManagerProvider(Provider<EntityManager> entityManagerProvider) {
+        this.entityManagerProvider = entityManagerProvider;
+    }
+
+    /**
+     * Sets the basis {@link EntityManager} instance used by every thread.
+     *
+     * @param entityManager the basis {@link EntityManager} instance
+     */
     public void setEntityManager(EntityManager entityManager) {
-        this.entityManager = entityManager;
+        this.entityManagerProvider = () -> entityManager;
     }
 
     /**
@@ -56,7 +70,37 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public void persist(T entity) {
-        entityManager.persist(entity);
+        getEntityManager().persist(entity);
+        afterPersist(List.of(entity));
+    }
+
+    /**
+     * Persists the specified entity instances in the database in a single
+     * transaction. The instances are detached afterwards, so that they are
+     * not kept in the persistence context.
+     *
+     * @param entities the entity instances to be persisted in the database
+     */
+    @Transactional
+    public void persistAll(Collection<? extends T> entities) {
+        EntityManager entityManager = getEntityManager();
+        for (T entity : entities) {
+            entityManager.persist(entity);
+        }
+        afterPersist(entities);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Called by {@link #persist(Object)} and {@link #persistAll(Collection)}
+     * in their transaction after the entity instances have been persisted.
+     * Subclasses override it instead of the generic methods, whose bridge
+     * methods would be intercepted as well.
+     *
+     * @param entities the entity instances persisted
+     */
+    protected void afterPersist(Collection<? extends T> entities) {
     }
 
     /**
@@ -70,7 +114,7 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public Optional<T> find(Object primaryKey) {
-        return Optional.ofNullable(entityManager.find(entityClass, primaryKey));
+        return Optional.ofNullable(getEntityManager().find(entityClass, primaryKey));
     }
 
     /**
@@ -80,7 +124,7 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public List<T> findAll() {
-        TypedQuery<T> typedQuery = entityManager.createQuery("FROM " + entityClass.getSimpleName(), entityClass);
+        TypedQuery<T> typedQuery = getEntityManager().createQuery("FROM " + entityClass.getSimpleName(), entityClass);
         return typedQuery.getResultList();
     }
 
@@ -91,7 +135,7 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public void remove(T entity) {
-        entityManager.remove(entity);
+        getEntityManager().remove(entity);
     }
 
     /**
@@ -101,7 +145,7 @@ public abstract class GenericJpaDao<T> {
      */
     @Transactional
     public void update(T entity) {
-        entityManager.merge(entity);
+        getEntityManager().merge(entity);
     }
 
 }
@@ -0,0 +1,97 @@
+package util.jpa;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Class for keeping the increment of the identifier sequence equal to the
+ * allocation size of its generator.
+ *
+ * <p>The pooled optimizer of Hibernate takes a block of identifiers from a
+ * single sequence call, so the increment of the sequence must match the
+ * allocation size. Since the allocation size is a setting, the increment is
+ * checked at every start instead of being set once by a migration script.
+ */
+@Slf4j
+public class IdSequences {
+
+    /**
+     * The persistence unit property holding the allocation size of the
+     * identifier generator.
+     */
+    public static final String ALLOCATION_SIZE = "util.jpa.id.allocation_size";
+
+    /**
+     * The name of the identifier sequence.
+     */
+    public static final String SEQUENCE = "hibernate_sequence";
+
+    private IdSequences() {
+    }
+
+    /**
+     * Aligns the increment of the identifier sequence of the specified
+     * persistence unit to its {@value #ALLOCATION_SIZE} property. Does
+     * nothing if the unit has no such property.
+     *
+     * @param persistenceUnit the name of the persistence unit
+     * @return whether the increment has been changed
+     * @throws SQLException if a database access error occurs or the sequence
+     * does not exist
+     */
+    public static boolean align(String persistenceUnit) throws SQLException {
+        String allocationSize = JdbcConnections.properties(persistenceUnit).getProperty(ALLOCATION_SIZE);
+        if (allocationSize == null) {
+            return false;
+        }
+        try (Connection connection = JdbcConnections.open(persistenceUnit)) {
+            return align(connection, Integer.parseInt(allocationSize));
+        }
+    }
+
+    /**
+     * Aligns the increment of the identifier sequence to the specified
+     * allocation size. The sequence is also restarted a block above its
+     * current value, since H2 returns the value computed by the old increment
+     * next, and the pooled optimizer would take the block below it.
+     *
+     * @param connection the connection to the database
+     * @param allocationSize the allocation size of the identifier generator
+     * @return whether the increment has been changed
+     * @throws SQLException if a database access error occurs or the sequence
+     * does not exist
+     */
+    public static boolean align(Connection connection, int allocationSize) throws SQLException {
+        if (allocationSize <= 0) {
+            throw new IllegalArgumentException("The allocation size must be positive");
+        }
+        long current;
+        long increment;
+        try (PreparedStatement statement = connection.prepareStatement("SELECT current_value, increment "
+                + "FROM information_schema.sequences WHERE UPPER(sequence_name) = ?")) {
+            statement.setString(1, SEQUENCE.toUpperCase());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (! resultSet.next()) {
+                    throw new SQLException("The identifier sequence does not exist");
+                }
+                current = resultSet.getLong(1);
+                increment = resultSet.getLong(2);
+            }
+        }
+        if (increment == allocationSize) {
+            return false;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + (current + allocationSize)
+                    + " INCREMENT BY " + allocationSize);
+        }
+        log.info("Increment of {} changed from {} to {}", SEQUENCE, increment, allocationSize);
+        return true;
+    }
+
+}
@@ -0,0 +1,53 @@
+package util.jpa;
+
+import org.hibernate.jpa.boot.internal.ParsedPersistenceXmlDescriptor;
+import org.hibernate.jpa.boot.internal.PersistenceXmlParser;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Class for opening plain JDBC connections to the database of a persistence
+ * unit, for the tools which must not build an {@code EntityManagerFactory}.
+ */
+public class JdbcConnections {
+
+    private JdbcConnections() {
+    }
+
+    /**
+     * Opens a connection by the {@code javax.persistence.jdbc} properties
+     * of the specified persistence unit.
+     *
+     * @param persistenceUnit the name of the persistence unit
+     * @return the connection
+     * @throws SQLException if a database access error occurs
+     * @throws IllegalArgumentException if there is no such persistence unit
+     */
+    public static Connection open(String persistenceUnit) throws SQLException {
+        Properties properties = properties(persistenceUnit);
+        return DriverManager.getConnection(
+                properties.getProperty("javax.persistence.jdbc.url"),
+                properties.getProperty("javax.persistence.jdbc.user"),
+                properties.getProperty("javax.persistence.jdbc.password", ""));
+    }
+
+    /**
+     * Returns the properties of the specified persistence unit.
+     *
+     * @param persistenceUnit the name of the persistence unit
+     * @return the properties of the persistence unit
+     * @throws IllegalArgumentException if there is no such persistence unit
+     */
+    public static Properties properties(String persistenceUnit) {
+        return PersistenceXmlParser.locatePersistenceUnits(Map.of()).stream()
+                .filter(unit -> unit.getName().equals(persistenceUnit))
+                .map(ParsedPersistenceXmlDescriptor::getProperties)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown persistence unit " + persistenceUnit));
+    }
+
+}
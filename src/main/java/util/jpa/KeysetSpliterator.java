@@ -0,0 +1,67 @@
+package util.jpa;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link Spliterator} over the results of a query fetched page by page by
+ * keyset pagination, each page continuing after the last element of
+ * the previous one.
+ *
+ * <p>Only the current page is kept in memory. The pages are fetched lazily,
+ * so a stream which is not consumed to the end stops querying the database.
+ *
+ * @param <T> the type of the elements
+ */
+public class KeysetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final Function<T, List<T>> pageLoader;
+
+    private final int pageSize;
+
+    private Iterator<T> page;
+
+    private T last;
+
+    private boolean exhausted;
+
+    /**
+     * Creates a {@code KeysetSpliterator} object.
+     *
+     * @param pageLoader the function returning the page after the specified
+     *                   element, or the first page if it is {@code null}
+     * @param pageSize the number of the elements of a page, a shorter page
+     *                 is taken as the last one
+     */
+    public KeysetSpliterator(Function<T, List<T>> pageLoader, int pageSize) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size must be positive");
+        }
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (page == null || ! page.hasNext()) {
+            if (exhausted) {
+                return false;
+            }
+            List<T> next = pageLoader.apply(last);
+            exhausted = next.size() < pageSize;
+            page = next.iterator();
+            if (! page.hasNext()) {
+                return false;
+            }
+        }
+        last = page.next();
+        action.accept(last);
+        return true;
+    }
+
+}
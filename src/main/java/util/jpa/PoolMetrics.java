@@ -0,0 +1,53 @@
+package util.jpa;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Class for a snapshot of the state of the connection pool.
+ */
+@Value
+public class PoolMetrics {
+
+    /**
+     * The number of the connections in use.
+     */
+    int active;
+
+    /**
+     * The number of the connections waiting in the pool.
+     */
+    int idle;
+
+    /**
+     * The number of the threads waiting for a connection.
+     */
+    int threadsAwaiting;
+
+    /**
+     * The number of the connections handed out since the monitoring started.
+     */
+    long acquired;
+
+    /**
+     * The total time the threads have waited for the connections handed out.
+     */
+    Duration totalWaitTime;
+
+    /**
+     * The longest time a thread has waited for a connection.
+     */
+    Duration maxWaitTime;
+
+    /**
+     * Returns the average time a thread has waited for a connection.
+     *
+     * @return the average wait time, {@link Duration#ZERO} if no connection
+     * has been handed out
+     */
+    public Duration getMeanWaitTime() {
+        return acquired == 0 ? Duration.ZERO : totalWaitTime.dividedBy(acquired);
+    }
+
+}
@@ -0,0 +1,61 @@
+package util.jpa;
+
+import javax.persistence.Persistence;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Command line tool writing the DDL script of the entities of a persistence
+ * unit, to be used as the starting point of a new migration script of the
+ * {@link SchemaMigrator}. The database is neither read nor modified.
+ *
+ * <p>Usage: {@code SchemaExporter [persistence-unit [target-file]]}, by
+ * default the {@code rolling-cubes} unit is written to
+ * {@code target/create.sql}.
+ */
+public class SchemaExporter {
+
+    /**
+     * The default persistence unit.
+     */
+    public static final String DEFAULT_UNIT = "rolling-cubes";
+
+    /**
+     * The default file of the DDL script.
+     */
+    public static final Path DEFAULT_TARGET = Paths.get("target", "create.sql");
+
+    /**
+     * Writes the DDL script of the specified persistence unit, replacing
+     * the file if it exists.
+     *
+     * @param persistenceUnit the name of the persistence unit
+     * @param target the file of the DDL script
+     * @throws IOException if the file can not be written
+     */
+    public static void export(String persistenceUnit, Path target) throws IOException {
+        // Hibernate appends to an existing script
+        Files.deleteIfExists(target);
+        if (target.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+        }
+        Persistence.generateSchema(persistenceUnit, Map.of(
+                "javax.persistence.schema-generation.database.action", "none",
+                "javax.persistence.schema-generation.scripts.action", "create",
+                "javax.persistence.schema-generation.scripts.create-target", target.toString(),
+                "hibernate.hbm2ddl.auto", "none",
+                "hibernate.hbm2ddl.delimiter", ";",
+                "hibernate.format_sql", "true"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        String persistenceUnit = args.length > 0 ? args[0] : DEFAULT_UNIT;
+        Path target = args.length > 1 ? Paths.get(args[1]) : DEFAULT_TARGET;
+        export(persistenceUnit, target);
+        System.out.println("Schema of " + persistenceUnit + " written to " + target);
+    }
+
+}
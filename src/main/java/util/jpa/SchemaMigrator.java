@@ -0,0 +1,262 @@
+package util.jpa;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Class for bringing the schema of a database up to date by versioned
+ * migration scripts.
+ *
+ * <p>The scripts are the {@code V<version>__<description>.sql} resources of
+ * the migration directory, applied in the order of their versions. Each
+ * script consists of SQL statements terminated by {@code ;}, lines starting
+ * with {@code --} are comments. The applied versions are recorded in the
+ * {@value #VERSION_TABLE} table, so every script runs only once.
+ *
+ * <p>A database created by Hibernate before the migrations were introduced
+ * has tables but no {@value #VERSION_TABLE} table; it is considered to be at
+ * {@link #BASELINE_VERSION} and only the later scripts are applied.
+ */
+@Slf4j
+public class SchemaMigrator {
+
+    /**
+     * The default classpath directory of the migration scripts.
+     */
+    public static final String DEFAULT_LOCATION = "db/migration";
+
+    /**
+     * The table recording the applied versions.
+     */
+    public static final String VERSION_TABLE = "schema_version";
+
+    /**
+     * The version of the schema created by Hibernate before the migrations.
+     */
+    public static final int BASELINE_VERSION = 1;
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    @Value
+    private static class Migration {
+        int version;
+        String description;
+        String script;
+    }
+
+    private final String location;
+
+    /**
+     * Creates a {@code SchemaMigrator} object applying the scripts of
+     * {@link #DEFAULT_LOCATION}.
+     */
+    public SchemaMigrator() {
+        this(DEFAULT_LOCATION);
+    }
+
+    /**
+     * Creates a {@code SchemaMigrator} object.
+     *
+     * @param location the classpath directory of the migration scripts
+     */
+    public SchemaMigrator(String location) {
+        this.location = location;
+    }
+
+    /**
+     * Migrates the database of the specified persistence unit, connecting
+     * by the {@code javax.persistence.jdbc} properties of the unit.
+     *
+     * @param persistenceUnit the name of the persistence unit
+     * @return the number of the scripts applied
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if a script can not be read
+     */
+    public int migrate(String persistenceUnit) throws SQLException, IOException {
+        try (Connection connection = JdbcConnections.open(persistenceUnit)) {
+            return migrate(connection);
+        }
+    }
+
+    /**
+     * Migrates the database of the specified connection.
+     *
+     * @param connection the connection to the database
+     * @return the number of the scripts applied
+     * @throws SQLException if a database access error occurs
+     * @throws IOException if a script can not be read
+     */
+    public int migrate(Connection connection) throws SQLException, IOException {
+        int current = currentVersion(connection);
+        int applied = 0;
+        for (Migration migration : findMigrations()) {
+            if (migration.getVersion() > current) {
+                apply(connection, migration);
+                ++applied;
+            }
+        }
+        log.info("Schema is up to date, {} migrations applied", applied);
+        return applied;
+    }
+
+    /**
+     * Returns the current version of the schema, creating the
+     * {@value #VERSION_TABLE} table if it does not exist.
+     *
+     * @param connection the connection to the database
+     * @return the current version of the schema, {@code 0} if the database is empty
+     * @throws SQLException if a database access error occurs
+     */
+    public int currentVersion(Connection connection) throws SQLException {
+        if (! hasTable(connection, VERSION_TABLE)) {
+            boolean baseline = hasTable(connection, null);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + VERSION_TABLE + " (version INTEGER NOT NULL PRIMARY KEY, "
+                        + "description VARCHAR(255) NOT NULL, installed_on TIMESTAMP NOT NULL)");
+            }
+            if (baseline) {
+                log.info("Existing schema found, marking it as version {}", BASELINE_VERSION);
+                record(connection, BASELINE_VERSION, "baseline");
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MAX(version) FROM " + VERSION_TABLE)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Returns whether the specified table, or any table if {@code name} is
+     * {@code null}, exists in the current schema.
+     */
+    private static boolean hasTable(Connection connection, String name) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), "%",
+                new String[]{"TABLE"})) {
+            while (tables.next()) {
+                if (name == null || name.equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        log.info("Applying migration {}: {}", migration.getVersion(), migration.getDescription());
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements(migration.getScript())) {
+                statement.execute(sql);
+            }
+            record(connection, migration.getVersion(), migration.getDescription());
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void record(Connection connection, int version, String description) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + VERSION_TABLE + " (version, description, installed_on) VALUES (?, ?, ?)")) {
+            statement.setInt(1, version);
+            statement.setString(2, description);
+            statement.setTimestamp(3, Timestamp.from(Instant.now()));
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Splits the specified script into statements.
+     *
+     * @param script the script
+     * @return the statements of the script without the comments and
+     * the terminating {@code ;}
+     */
+    static List<String> statements(String script) {
+        String code = script.lines()
+                .filter(line -> ! line.trim().startsWith("--"))
+                .collect(Collectors.joining("\n"));
+        List<String> statements = new ArrayList<>();
+        for (String statement : code.split(";")) {
+            if (! statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    private List<Migration> findMigrations() throws IOException {
+        URL url = Thread.currentThread().getContextClassLoader().getResource(location);
+        if (url == null) {
+            return List.of();
+        }
+        try {
+            URI uri = url.toURI();
+            if (! "jar".equals(uri.getScheme())) {
+                return findMigrations(Paths.get(uri));
+            }
+            try (FileSystem fileSystem = FileSystems.newFileSystem(uri, Map.of())) {
+                return findMigrations(fileSystem.getPath(location));
+            } catch (FileSystemAlreadyExistsException e) {
+                return findMigrations(FileSystems.getFileSystem(uri).getPath(location));
+            }
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid location of the migrations: " + url, e);
+        }
+    }
+
+    private static List<Migration> findMigrations(Path directory) throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = SCRIPT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                            matcher.group(2).replace('_', ' '), Files.readString(file, StandardCharsets.UTF_8)));
+                }
+            }
+        }
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < migrations.size(); ++i) {
+            if (migrations.get(i).getVersion() == migrations.get(i - 1).getVersion()) {
+                throw new IllegalStateException("Duplicate migration version " + migrations.get(i).getVersion());
+            }
+        }
+        return migrations;
+    }
+
+}
@@ -0,0 +1,12 @@
+-- The schema created by Hibernate before the versioned migrations.
+CREATE SEQUENCE hibernate_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE GameResult (
+    id BIGINT NOT NULL,
+    created TIMESTAMP NOT NULL,
+    duration BIGINT NOT NULL,
+    player VARCHAR(255) NOT NULL,
+    solved BOOLEAN NOT NULL,
+    steps INTEGER NOT NULL,
+    PRIMARY KEY (id)
+);
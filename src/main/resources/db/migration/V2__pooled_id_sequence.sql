@@ -0,0 +1,8 @@
+-- The identifiers are allocated in blocks by the pooled optimizer, the
+-- increment of the sequence must match the allocation size. The sequence is
+-- restarted a block above its current value, since H2 would return the value
+-- computed by the old increment next, and the pooled optimizer would take the
+-- block below it. util.jpa.IdSequences keeps the increment aligned afterwards.
+ALTER SEQUENCE hibernate_sequence RESTART WITH (SELECT current_value + ${db.id.allocationSize}
+    FROM information_schema.sequences WHERE sequence_name = 'HIBERNATE_SEQUENCE')
+    INCREMENT BY ${db.id.allocationSize};
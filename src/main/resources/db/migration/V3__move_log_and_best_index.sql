@@ -0,0 +1,6 @@
+-- The start state and the move log of the verified results, and the index
+-- of the high-score query. A database created by Hibernate after these were
+-- mapped already has them.
+ALTER TABLE GameResult ADD COLUMN IF NOT EXISTS startState BIGINT;
+ALTER TABLE GameResult ADD COLUMN IF NOT EXISTS moves BINARY(65536);
+CREATE INDEX IF NOT EXISTS idx_gameresult_best ON GameResult (solved, duration, created DESC);
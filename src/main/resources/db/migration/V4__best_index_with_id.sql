@@ -0,0 +1,4 @@
+-- The identifier completes the order of the high scores, so that the pages
+-- can be continued after their last result by an index range scan.
+DROP INDEX IF EXISTS idx_gameresult_best;
+CREATE INDEX idx_gameresult_best ON GameResult (solved, duration, created DESC, id);
@@ -0,0 +1,11 @@
+-- The summaries of the results of the players. They are filled from the
+-- existing results by PlayerStatsDao.rebuildIfInconsistent() at startup.
+CREATE TABLE PlayerStats (
+    player VARCHAR(255) NOT NULL,
+    gamesPlayed BIGINT NOT NULL,
+    gamesSolved BIGINT NOT NULL,
+    totalSteps BIGINT NOT NULL,
+    bestDuration BIGINT,
+    durations BINARY(65536),
+    PRIMARY KEY (player)
+);
@@ -0,0 +1,2 @@
+-- The range scan of the results of a period for the time-windowed leaderboards.
+CREATE INDEX idx_gameresult_created ON GameResult (solved, created);
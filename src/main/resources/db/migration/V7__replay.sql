@@ -0,0 +1,2 @@
+-- The name of the replay file recorded for the result.
+ALTER TABLE GameResult ADD COLUMN replay VARCHAR(64);
@@ -0,0 +1,48 @@
+package rollingcubes.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalMemoryBfsTest {
+
+    private static final int DEPTH = 8;
+
+    private static final long[] EXPECTED = new StateSpaceAnalyser(DEPTH, 1_000_000).analyse().getHistogram();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRun() throws IOException {
+        AnalysisResult result = new ExternalMemoryBfs(directory, DEPTH, 64, 5).run();
+        assertArrayEquals(EXPECTED, result.getHistogram());
+        assertFalse(result.isComplete());
+        assertEquals(5, result.getHardestStates().size());
+        assertTrue(Files.notExists(directory.resolve("layer-000.bin")));
+        assertTrue(Files.exists(directory.resolve("layer-008.bin")));
+    }
+
+    @Test
+    void testRun_Resume() throws IOException {
+        new ExternalMemoryBfs(directory, 5, 64, 5).run();
+        Files.write(directory.resolve("layer-006.bin.tmp"), new byte[] {1, 2, 3});
+        Files.write(directory.resolve("layer-006.run-0"), new byte[] {1, 2, 3});
+        AnalysisResult result = new ExternalMemoryBfs(directory, DEPTH, 1024, 5).run();
+        assertArrayEquals(EXPECTED, result.getHistogram());
+    }
+
+    @Test
+    void testAnalyse_SwitchToDisk() {
+        StateSpaceAnalyser analyser = new StateSpaceAnalyser(DEPTH, 500);
+        analyser.setWorkDirectory(directory);
+        AnalysisResult result = analyser.analyse();
+        assertArrayEquals(EXPECTED, result.getHistogram());
+    }
+
+}
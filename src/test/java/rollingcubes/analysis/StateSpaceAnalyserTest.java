@@ -0,0 +1,83 @@
+package rollingcubes.analysis;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.solver.Solver;
+import rollingcubes.state.PackedState;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateSpaceAnalyserTest {
+
+    private static List<Long> sequentialHistogram(int maxDepth) {
+        Set<Long> visited = new HashSet<>();
+        List<Long> frontier = new ArrayList<>();
+        for (long state : StateSpaceAnalyser.goalStates()) {
+            visited.add(state);
+            frontier.add(state);
+        }
+        List<Long> histogram = new ArrayList<>();
+        long[] successors = new long[PackedState.MAX_SUCCESSORS];
+        for (int depth = 0; depth <= maxDepth; ++depth) {
+            histogram.add((long) frontier.size());
+            List<Long> next = new ArrayList<>();
+            for (long state : frontier) {
+                int count = PackedState.successors(state, successors);
+                for (int k = 0; k < count; ++k) {
+                    if (visited.add(successors[k])) {
+                        next.add(successors[k]);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return histogram;
+    }
+
+    @Test
+    void testAnalyse() {
+        AnalysisResult result = new StateSpaceAnalyser(8, 1_000_000, new ForkJoinPool(4), 3).analyse();
+        List<Long> expected = sequentialHistogram(8);
+        assertEquals(expected.size(), result.getHistogram().length);
+        for (int depth = 0; depth < expected.size(); ++depth) {
+            assertEquals(expected.get(depth), result.getHistogram()[depth]);
+        }
+        assertEquals(16, result.getHistogram()[0]);
+        assertEquals(24, result.getHistogram()[1]);
+        assertEquals(8, result.getMaxDepth());
+        assertFalse(result.isComplete());
+        assertEquals(3, result.getHardestStates().size());
+        for (long state : result.getHardestStates()) {
+            assertEquals(8, new Solver().solve(state).orElseThrow().getLength());
+        }
+    }
+
+    @Test
+    void testAnalyse_OutOfMemory() {
+        AnalysisResult result = new StateSpaceAnalyser(20, 1000).analyse();
+        assertFalse(result.isComplete());
+        assertTrue(result.getStateCount() <= 1000);
+    }
+
+    @Test
+    void testConcurrentLongSet() {
+        ConcurrentLongSet set = new ConcurrentLongSet(100);
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(Long.MAX_VALUE - 1));
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(1));
+        assertEquals(2, set.size());
+        for (long i = 1; i < 99; ++i) {
+            set.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> set.add(1000));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLongSet(0));
+    }
+
+}
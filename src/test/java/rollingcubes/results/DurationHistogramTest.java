@@ -0,0 +1,46 @@
+package rollingcubes.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationHistogramTest {
+
+    @Test
+    void testGetMedian() {
+        DurationHistogram histogram = new DurationHistogram();
+        assertNull(histogram.getMedian());
+        histogram.add(Duration.ofSeconds(30));
+        assertEquals(Duration.ofSeconds(30), histogram.getMedian());
+        histogram.add(Duration.ofMillis(10_900));
+        histogram.add(Duration.ofSeconds(500));
+        assertEquals(Duration.ofSeconds(30), histogram.getMedian());
+        histogram.add(Duration.ofSeconds(10));
+        assertEquals(Duration.ofSeconds(10), histogram.getMedian());
+        assertEquals(4, histogram.getCount());
+    }
+
+    @Test
+    void testToByteArray() {
+        DurationHistogram histogram = new DurationHistogram();
+        for (int i = 0; i < 1000; ++i) {
+            histogram.add(Duration.ofSeconds(i % 7 * 100_000));
+        }
+        DurationHistogram decoded = DurationHistogram.of(histogram.toByteArray());
+        assertEquals(histogram.getCount(), decoded.getCount());
+        assertEquals(histogram.getMedian(), decoded.getMedian());
+        assertArrayEquals(histogram.toByteArray(), decoded.toByteArray());
+        assertEquals(0, DurationHistogram.of(null).getCount());
+        assertEquals(0, DurationHistogram.of(new DurationHistogram().toByteArray()).getCount());
+    }
+
+    @Test
+    void testOf_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> DurationHistogram.of(new byte[]{1, 5}));
+        assertThrows(IllegalArgumentException.class, () -> DurationHistogram.of(new byte[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> DurationHistogram.of(new byte[]{(byte) 0x80}));
+    }
+
+}
@@ -0,0 +1,208 @@
+package rollingcubes.results;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultDaoTest {
+
+    private static EntityManagerFactory emf;
+
+    private static EntityManager em;
+
+    private static GameResultDao dao;
+
+    @BeforeAll
+    static void setUp() {
+        emf = Persistence.createEntityManagerFactory("rolling-cubes-test");
+        em = emf.createEntityManager();
+        dao = new GameResultDao();
+        dao.setEntityManager(em);
+        em.getTransaction().begin();
+        for (int i = 0; i < 100; ++i) {
+            em.persist(GameResult.builder()
+                    .player("player" + i)
+                    .solved(i % 3 != 0)
+                    .steps(50 + i)
+                    .duration(Duration.ofSeconds(1000 - i))
+                    .build());
+        }
+        ZonedDateTime created = ZonedDateTime.now().minusDays(2);
+        for (int i = 0; i < 12; ++i) {
+            em.persist(GameResult.builder()
+                    .player("tie" + i)
+                    .solved(true)
+                    .steps(100)
+                    .duration(Duration.ofSeconds(5000))
+                    .created(created.minusHours(i % 3))
+                    .build());
+        }
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        em.close();
+        emf.close();
+    }
+
+    @Test
+    void testFindBestSummaries() {
+        List<GameResult> best = dao.findBest(5);
+        List<GameResultSummary> summaries = dao.findBestSummaries(5);
+        assertEquals(5, summaries.size());
+        assertEquals("player98", summaries.get(0).getPlayer());
+        for (int i = 0; i < summaries.size(); ++i) {
+            assertEquals(best.get(i).getPlayer(), summaries.get(i).getPlayer());
+            assertEquals(best.get(i).getSteps(), summaries.get(i).getSteps());
+            assertEquals(best.get(i).getDuration(), summaries.get(i).getDuration());
+        }
+    }
+
+    @Test
+    void testPersistAll() {
+        List<GameResult> results = new ArrayList<>();
+        for (int i = 0; i < 120; ++i) {
+            results.add(GameResult.builder()
+                    .player("batch")
+                    .steps(i)
+                    .duration(Duration.ofSeconds(i))
+                    .created(ZonedDateTime.now().minusDays(1))
+                    .build());
+        }
+        int sequenceCalls = RecordingStatementInspector.getSequenceCalls();
+        em.getTransaction().begin();
+        dao.persistAll(results);
+        em.getTransaction().commit();
+        assertTrue(RecordingStatementInspector.getSequenceCalls() - sequenceCalls <= 3);
+        assertTrue(results.stream().allMatch(result -> result.getId() != null));
+        assertFalse(em.contains(results.get(0)));
+        assertEquals(120L, em.createQuery("SELECT COUNT(r) FROM GameResult r WHERE r.player = 'batch'")
+                .getSingleResult());
+        assertEquals(0, results.get(0).getCreated().getNano() % 1000);
+        em.clear();
+        assertEquals(results.get(0).getCreated().toInstant(), dao.find(results.get(0).getId()).get()
+                .getCreated().toInstant());
+    }
+
+    private static String explain(String sql) {
+        return (String) em.createNativeQuery("EXPLAIN " + sql.replace("?", "10")).getSingleResult();
+    }
+
+    @Test
+    void testFindBest_UsesIndex() {
+        dao.findBest(10);
+        String plan = explain(RecordingStatementInspector.getLastSql());
+        assertTrue(plan.toUpperCase().contains(GameResult.BEST_INDEX.toUpperCase()), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+        dao.findBestSummaries(10);
+        plan = explain(RecordingStatementInspector.getLastSql());
+        assertTrue(plan.toUpperCase().contains(GameResult.BEST_INDEX.toUpperCase()), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void testFindBestAfter() {
+        List<GameResult> expected = dao.findBest(1000);
+        List<GameResult> actual = new ArrayList<>(dao.findBest(7));
+        while (true) {
+            List<GameResult> page = dao.findBestAfter(actual.get(actual.size() - 1), 7);
+            actual.addAll(page);
+            if (page.size() < 7) {
+                break;
+            }
+        }
+        assertEquals(ids(expected), ids(actual));
+        assertTrue(dao.findBestAfter(expected.get(expected.size() - 1), 7).isEmpty());
+    }
+
+    @Test
+    void testFindBestAfter_InMemoryResult() {
+        ZonedDateTime created = ZonedDateTime.now().minusDays(10).withNano(123_456_000);
+        GameResult stored = GameResult.builder()
+                .player("recorded")
+                .solved(true)
+                .duration(Duration.ofSeconds(4999))
+                .created(created)
+                .build();
+        em.getTransaction().begin();
+        dao.persist(stored);
+        em.getTransaction().commit();
+        em.clear();
+        GameResult recorded = GameResult.builder()
+                .id(stored.getId())
+                .player("recorded")
+                .solved(true)
+                .duration(Duration.ofSeconds(4999))
+                .created(created.plusNanos(789))
+                .build();
+        assertFalse(ids(dao.findBestAfter(recorded, 10)).contains(stored.getId()));
+        recorded.setId(null);
+        assertFalse(ids(dao.findBestAfter(recorded, 10)).contains(stored.getId()));
+        List<GameResult> best = dao.findBest(1000);
+        int index = ids(best).indexOf(stored.getId());
+        assertEquals(ids(best.subList(index + 1, Math.min(index + 11, best.size()))),
+                ids(dao.findBestAfter(stored, 10)));
+    }
+
+    @Test
+    void testFindBestAfter_UsesIndex() {
+        List<GameResult> best = dao.findBest(1);
+        dao.findBestAfter(best.get(0), 10);
+        String plan = (String) em.createNativeQuery("EXPLAIN " + RecordingStatementInspector.getLastSql())
+                .setParameter(1, best.get(0).getDuration())
+                .setParameter(2, best.get(0).getDuration())
+                .setParameter(3, best.get(0).getCreated())
+                .setParameter(4, best.get(0).getCreated())
+                .setParameter(5, best.get(0).getId())
+                .setParameter(6, 10)
+                .getSingleResult();
+        assertTrue(plan.toUpperCase().contains(GameResult.BEST_INDEX.toUpperCase()), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void testStreamBest() {
+        assertEquals(ids(dao.findBest(1000)), ids(dao.streamBest(5).collect(Collectors.toList())));
+        assertEquals(ids(dao.findBest(12)), ids(dao.streamBest(5).limit(12).collect(Collectors.toList())));
+    }
+
+    @Test
+    void testFindBestBetween() {
+        ZonedDateTime from = ZonedDateTime.now().minusDays(3);
+        ZonedDateTime to = ZonedDateTime.now().minusDays(1);
+        List<GameResult> best = dao.findBestBetween(from, to, 5);
+        assertEquals(5, best.size());
+        assertTrue(best.stream().allMatch(result -> result.getPlayer().startsWith("tie")));
+        assertEquals(ids(dao.streamBest(50)
+                .filter(result -> ! result.getCreated().isBefore(from) && result.getCreated().isBefore(to))
+                .limit(5)
+                .collect(Collectors.toList())), ids(best));
+        dao.findBestBetween(from, to, 5);
+        String plan = (String) em.createNativeQuery("EXPLAIN " + RecordingStatementInspector.getLastSql())
+                .setParameter(1, from)
+                .setParameter(2, to)
+                .setParameter(3, 5)
+                .getSingleResult();
+        assertTrue(plan.toUpperCase().contains(GameResult.CREATED_INDEX.toUpperCase()), plan);
+    }
+
+    private static List<Long> ids(List<GameResult> results) {
+        return results.stream()
+                .map(GameResult::getId)
+                .collect(Collectors.toList());
+    }
+
+}
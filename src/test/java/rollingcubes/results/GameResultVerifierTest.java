@@ -0,0 +1,130 @@
+package rollingcubes.results;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.solver.DieDistanceHeuristic;
+import rollingcubes.solver.Move;
+import rollingcubes.solver.TranspositionCache;
+import rollingcubes.state.Direction;
+import rollingcubes.state.PackedState;
+import rollingcubes.state.RollingCubesState;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultVerifierTest {
+
+    private static final int[][] ONE_MOVE_LEFT = {
+            {2, 2, 2, 2},
+            {2, 2, 2, 2},
+            {2, 2, 2, 0},
+            {2, 2, 2, 6}
+    };
+
+    private final TranspositionCache cache = new TranspositionCache(1 << 16);
+
+    private final GameResultVerifier verifier = new GameResultVerifier(new DieDistanceHeuristic(), cache,
+            ForkJoinPool.commonPool());
+
+    private GameResult play(boolean solved, int[]... moves) {
+        RollingCubesState state = new RollingCubesState(ONE_MOVE_LEFT);
+        MoveLog log = new MoveLog();
+        state.addMoveListener(log);
+        for (int[] move : moves) {
+            state.rollToEmptySpace(move[0], move[1]);
+        }
+        return GameResult.builder()
+                .player("test")
+                .solved(solved)
+                .steps(log.size())
+                .duration(Duration.ofSeconds(1))
+                .startState(PackedState.pack(ONE_MOVE_LEFT))
+                .moves(log.toByteArray())
+                .build();
+    }
+
+    @Test
+    void testVerify_Valid() {
+        assertEquals(Optional.empty(), verifier.verify(play(true, new int[] {3, 3})));
+        assertEquals(Optional.empty(), verifier.verify(play(true, new int[] {2, 2}, new int[] {2, 3}, new int[] {3, 3})));
+        assertEquals(Optional.empty(), verifier.verify(play(false, new int[] {2, 2})));
+    }
+
+    @Test
+    void testVerify_Invalid() {
+        assertEquals(Optional.of(Violation.NOT_SOLVED), verifier.verify(play(true, new int[] {2, 2})));
+        GameResult mismatch = play(true, new int[] {3, 3});
+        mismatch.setSteps(0);
+        assertEquals(Optional.of(Violation.STEP_MISMATCH), verifier.verify(mismatch));
+        GameResult missing = play(true, new int[] {3, 3});
+        missing.setMoves(null);
+        assertEquals(Optional.of(Violation.MISSING_LOG), verifier.verify(missing));
+        GameResult invalid = play(true, new int[] {3, 3});
+        invalid.setMoves(new byte[] {7});
+        assertEquals(Optional.of(Violation.INVALID_LOG), verifier.verify(invalid));
+        GameResult illegal = play(true);
+        MoveLog log = new MoveLog();
+        log.add(Direction.LEFT);
+        illegal.setMoves(log.toByteArray());
+        illegal.setSteps(1);
+        assertEquals(Optional.of(Violation.ILLEGAL_MOVE), verifier.verify(illegal));
+    }
+
+    @Test
+    void testVerify_InvalidStart() {
+        GameResult goal = play(true, new int[] {3, 3});
+        goal.setStartState(PackedState.rollToEmptySpace(PackedState.pack(ONE_MOVE_LEFT), 3, 3));
+        goal.setMoves(new MoveLog().toByteArray());
+        goal.setSteps(0);
+        assertEquals(Optional.of(Violation.INVALID_START), verifier.verify(goal));
+        GameResult invalidValue = play(true, new int[] {3, 3});
+        invalidValue.setStartState(invalidValue.getStartState() | 0b111L);
+        assertEquals(Optional.of(Violation.INVALID_START), verifier.verify(invalidValue));
+        GameResult wrongEmpty = play(true, new int[] {3, 3});
+        wrongEmpty.setStartState(wrongEmpty.getStartState() + (1L << 48));
+        assertEquals(Optional.of(Violation.INVALID_START), verifier.verify(wrongEmpty));
+        GameResult highBits = play(true, new int[] {3, 3});
+        highBits.setStartState(highBits.getStartState() | 1L << 60);
+        assertEquals(Optional.of(Violation.INVALID_START), verifier.verify(highBits));
+        List<FlaggedResult> flagged = verifier.verifyAll(List.of(goal, invalidValue, wrongEmpty, highBits));
+        assertEquals(4, flagged.size());
+    }
+
+    @Test
+    void testVerify_StartStates() {
+        GameResultVerifier gameVerifier = new GameResultVerifier(new DieDistanceHeuristic(), cache,
+                ForkJoinPool.commonPool(), GameResultVerifier.GAME_START_STATES);
+        assertEquals(Optional.of(Violation.INVALID_START), gameVerifier.verify(play(true, new int[] {3, 3})));
+        GameResult nearGoal = play(false);
+        nearGoal.setStartState(PackedState.NEAR_GOAL);
+        assertEquals(Optional.empty(), gameVerifier.verify(nearGoal));
+    }
+
+    @Test
+    void testVerify_BeatsOptimum() {
+        GameResult result = play(true, new int[] {3, 3});
+        assertEquals(Optional.empty(), verifier.verify(result));
+        cache.put(PackedState.pack(ONE_MOVE_LEFT), 3, new Move(2, 2));
+        assertEquals(Optional.of(Violation.BEATS_OPTIMUM), verifier.verify(result));
+    }
+
+    @Test
+    void testVerifyAll() {
+        List<GameResult> results = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            results.add(i % 7 == 0 ? play(true, new int[] {2, 2}) : play(true, new int[] {3, 3}));
+        }
+        List<FlaggedResult> flagged = verifier.verifyAll(results);
+        assertEquals(715, flagged.size());
+        for (int i = 0; i < flagged.size(); ++i) {
+            assertSame(results.get(i * 7), flagged.get(i).getResult());
+            assertEquals(Violation.NOT_SOLVED, flagged.get(i).getViolation());
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+package rollingcubes.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResultWriterTest {
+
+    /**
+     * DAO recording the sizes of the batches instead of writing them.
+     */
+    private static class BatchRecordingDao extends GameResultDao {
+
+        private final List<Integer> batches = new ArrayList<>();
+
+        @Override
+        public synchronized void persistAll(Collection<? extends GameResult> results) {
+            batches.add(results.size());
+        }
+
+        synchronized List<Integer> getBatches() {
+            return List.copyOf(batches);
+        }
+
+    }
+
+    /**
+     * DAO failing a number of times, and failing the batches containing a
+     * result of the player {@code "bad"} always. The identifiers are assigned
+     * before failing, like the pooled generator does.
+     */
+    private static class FailingDao extends GameResultDao {
+
+        private final List<GameResult> written = new ArrayList<>();
+
+        private int failures;
+
+        private long nextId = 1;
+
+        FailingDao(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public synchronized void persistAll(Collection<? extends GameResult> results) {
+            for (GameResult result : results) {
+                assertNull(result.getId());
+                result.setId(nextId++);
+            }
+            if (failures > 0 || results.stream().anyMatch(result -> result.getPlayer().equals("bad"))) {
+                --failures;
+                throw new IllegalStateException("Lock timeout");
+            }
+            written.addAll(results);
+        }
+
+        @Override
+        public void persist(GameResult result) {
+            persistAll(List.of(result));
+        }
+
+        synchronized List<GameResult> getWritten() {
+            return List.copyOf(written);
+        }
+
+    }
+
+    private static GameResult result() {
+        return GameResult.builder()
+                .player("player")
+                .solved(true)
+                .duration(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Test
+    void testBatchSize() throws InterruptedException {
+        BatchRecordingDao dao = new BatchRecordingDao();
+        GameResultWriter writer = new GameResultWriter(dao, 100, Duration.ofHours(1));
+        for (int i = 0; i < 250; ++i) {
+            writer.submit(result());
+        }
+        writer.flush();
+        List<Integer> batches = dao.getBatches();
+        assertEquals(250, batches.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batches.stream().allMatch(size -> size <= 100));
+        assertTrue(batches.size() <= 4, batches.toString());
+        writer.close();
+    }
+
+    @Test
+    void testMaxDelay() throws InterruptedException {
+        BatchRecordingDao dao = new BatchRecordingDao();
+        GameResultWriter writer = new GameResultWriter(dao, 100, Duration.ofMillis(50));
+        writer.submit(result());
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (dao.getBatches().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(1), dao.getBatches());
+        writer.close();
+    }
+
+    @Test
+    void testRetry() throws InterruptedException {
+        FailingDao dao = new FailingDao(1);
+        GameResultWriter writer = new GameResultWriter(dao, 100, Duration.ofHours(1), Duration.ofMillis(1));
+        for (int i = 0; i < 10; ++i) {
+            assertTrue(writer.submit(result()));
+        }
+        writer.flush();
+        assertEquals(10, dao.getWritten().size());
+        assertTrue(dao.getWritten().stream().allMatch(result -> result.getId() != null));
+        assertEquals(0, writer.getDroppedCount());
+        writer.close();
+    }
+
+    @Test
+    void testRetry_BadResult() throws InterruptedException {
+        FailingDao dao = new FailingDao(0);
+        GameResultWriter writer = new GameResultWriter(dao, 100, Duration.ofHours(1), Duration.ofMillis(1));
+        GameResult bad = result();
+        bad.setPlayer("bad");
+        for (int i = 0; i < 10; ++i) {
+            writer.submit(i == 5 ? bad : result());
+        }
+        writer.flush();
+        assertEquals(9, dao.getWritten().size());
+        assertFalse(dao.getWritten().contains(bad));
+        assertNull(bad.getId());
+        assertEquals(1, writer.getDroppedCount());
+        writer.close();
+    }
+
+    @Test
+    void testInterrupt() throws InterruptedException {
+        CountDownLatch released = new CountDownLatch(1);
+        BatchRecordingDao dao = new BatchRecordingDao() {
+            private boolean interrupted;
+
+            @Override
+            public void persistAll(Collection<? extends GameResult> results) {
+                if (! interrupted) {
+                    interrupted = true;
+                    try {
+                        released.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    Thread.currentThread().interrupt();
+                }
+                super.persistAll(results);
+            }
+        };
+        GameResultWriter writer = new GameResultWriter(dao, 2, Duration.ofHours(1));
+        for (int i = 0; i < 7; ++i) {
+            assertTrue(writer.submit(result()));
+        }
+        released.countDown();
+        writer.flush();
+        assertEquals(7, dao.getBatches().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, writer.getDroppedCount());
+        assertFalse(writer.submit(result()));
+        assertEquals(1, writer.getDroppedCount());
+        writer.close();
+    }
+
+    @Test
+    void testClose() throws InterruptedException {
+        BatchRecordingDao dao = new BatchRecordingDao();
+        GameResultWriter writer = new GameResultWriter(dao, 100, Duration.ofHours(1));
+        for (int i = 0; i < 10; ++i) {
+            writer.submit(result());
+        }
+        writer.close();
+        assertEquals(List.of(10), dao.getBatches());
+        assertThrows(IllegalStateException.class, () -> writer.submit(result()));
+        writer.close();
+    }
+
+}
@@ -0,0 +1,248 @@
+package rollingcubes.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.now();
+
+    /**
+     * DAO keeping the results in a list instead of the database.
+     */
+    private static class InMemoryGameResultDao extends GameResultDao {
+
+        private final List<GameResult> results = new ArrayList<>();
+
+        private int queries;
+
+        @Override
+        public synchronized void persist(GameResult result) {
+            result.setId((long) results.size() + 1);
+            results.add(result);
+        }
+
+        @Override
+        public synchronized void persistAll(Collection<? extends GameResult> results) {
+            results.forEach(this::persist);
+        }
+
+        @Override
+        public synchronized List<GameResult> findBest(int n) {
+            ++queries;
+            return results.stream()
+                    .filter(GameResult::isSolved)
+                    .sorted(Leaderboard.ORDER)
+                    .limit(n)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized List<GameResult> findBestBetween(ZonedDateTime from, ZonedDateTime to, int n) {
+            ++queries;
+            return results.stream()
+                    .filter(GameResult::isSolved)
+                    .filter(result -> ! result.getCreated().isBefore(from) && result.getCreated().isBefore(to))
+                    .sorted(Leaderboard.ORDER)
+                    .limit(n)
+                    .collect(Collectors.toList());
+        }
+
+    }
+
+    /**
+     * Clock which can be set by the test.
+     */
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(ZonedDateTime time) {
+            instant = time.toInstant();
+        }
+
+        void set(ZonedDateTime time) {
+            instant = time.toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+    private static GameResult result(boolean solved, int seconds, int minutesAgo) {
+        return GameResult.builder()
+                .player("player")
+                .solved(solved)
+                .duration(Duration.ofSeconds(seconds))
+                .created(NOW.minusMinutes(minutesAgo))
+                .build();
+    }
+
+    @Test
+    void testOrder() {
+        GameResult first = result(30, NOW);
+        first.setId(1L);
+        GameResult second = result(30, NOW);
+        second.setId(2L);
+        GameResult unsaved = result(30, NOW);
+        List<GameResult> results = new ArrayList<>(List.of(unsaved, second, first));
+        results.sort(Leaderboard.ORDER);
+        assertEquals(List.of(first, second, unsaved), results);
+    }
+
+    @Test
+    void testRecord() {
+        InMemoryGameResultDao dao = new InMemoryGameResultDao();
+        dao.persist(result(true, 50, 10));
+        dao.persist(result(true, 30, 10));
+        Leaderboard leaderboard = new Leaderboard(dao, new GameResultWriter(dao), 3);
+        leaderboard.warmUp();
+        assertEquals(1 + TimeWindow.values().length, dao.queries);
+        leaderboard.record(result(false, 10, 0));
+        leaderboard.record(result(true, 40, 0));
+        leaderboard.record(result(true, 30, 0));
+        leaderboard.record(result(true, 60, 0));
+        List<GameResult> top = leaderboard.getTop(10);
+        assertEquals(List.of(Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(40)),
+                top.stream().map(GameResult::getDuration).collect(Collectors.toList()));
+        assertEquals(top.subList(0, 2), leaderboard.getTop(2));
+        assertEquals(1 + TimeWindow.values().length, dao.queries);
+        assertTrue(leaderboard.checkConsistency());
+        assertEquals(List.of(5L, 2L, 4L), top.stream().map(GameResult::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testCheckConsistency() {
+        InMemoryGameResultDao dao = new InMemoryGameResultDao();
+        Leaderboard leaderboard = new Leaderboard(dao, new GameResultWriter(dao));
+        leaderboard.warmUp();
+        assertTrue(leaderboard.getTop(10).isEmpty());
+        dao.persist(result(true, 10, 0));
+        assertFalse(leaderboard.checkConsistency());
+        leaderboard.warmUp();
+        assertTrue(leaderboard.checkConsistency());
+    }
+
+    @Test
+    void testWarmUp_KeepsOffered() {
+        InMemoryGameResultDao dao = new InMemoryGameResultDao();
+        dao.persist(result(true, 30, 10));
+        Leaderboard leaderboard = new Leaderboard(dao, new GameResultWriter(dao), 3);
+        GameResult offered = result(true, 20, 0);
+        leaderboard.offer(offered);
+        leaderboard.warmUp();
+        assertEquals(List.of(Duration.ofSeconds(20), Duration.ofSeconds(30)),
+                leaderboard.getTop(10).stream().map(GameResult::getDuration).collect(Collectors.toList()));
+        assertSame(offered, leaderboard.getTop(1).get(0));
+    }
+
+    @Test
+    void testWarmUp_KeepsOfferedPersistedMeanwhile() {
+        GameResult offered = result(20, NOW);
+        InMemoryGameResultDao dao = new InMemoryGameResultDao() {
+            @Override
+            public synchronized List<GameResult> findBest(int n) {
+                List<GameResult> loaded = super.findBest(n);
+                persist(offered);
+                return loaded;
+            }
+
+            @Override
+            public synchronized List<GameResult> findBestBetween(ZonedDateTime from, ZonedDateTime to, int n) {
+                return super.findBestBetween(from, to, n).stream()
+                        .filter(result -> result != offered)
+                        .collect(Collectors.toList());
+            }
+        };
+        dao.persist(result(30, NOW.minusMinutes(10)));
+        Leaderboard leaderboard = new Leaderboard(dao, new GameResultWriter(dao), 3);
+        leaderboard.offer(offered);
+        leaderboard.warmUp();
+        assertNotNull(offered.getId());
+        assertEquals(List.of(Duration.ofSeconds(20), Duration.ofSeconds(30)), durations(leaderboard.getTop(10)));
+        assertSame(offered, leaderboard.getTop(1).get(0));
+        assertSame(offered, leaderboard.getTop(TimeWindow.DAY, 1).get(0));
+    }
+
+    private static GameResult result(int seconds, ZonedDateTime created) {
+        return GameResult.builder()
+                .player("player")
+                .solved(true)
+                .duration(Duration.ofSeconds(seconds))
+                .created(created)
+                .build();
+    }
+
+    private static List<Duration> durations(List<GameResult> results) {
+        return results.stream().map(GameResult::getDuration).collect(Collectors.toList());
+    }
+
+    @Test
+    void testGetTop_TimeWindow() {
+        // Wednesday
+        ZonedDateTime now = ZonedDateTime.of(2020, 4, 15, 12, 0, 0, 0, ZoneOffset.UTC);
+        MutableClock clock = new MutableClock(now);
+        InMemoryGameResultDao dao = new InMemoryGameResultDao();
+        dao.persist(result(10, now.minusDays(30)));
+        dao.persist(result(20, now.minusDays(5)));
+        dao.persist(result(30, now.minusDays(2)));
+        dao.persist(result(40, now.minusHours(1)));
+        dao.persist(result(50, now.minusHours(2)));
+        Leaderboard leaderboard = new Leaderboard(dao, new GameResultWriter(dao), 3, clock);
+        leaderboard.warmUp();
+        assertEquals(List.of(Duration.ofSeconds(10), Duration.ofSeconds(20), Duration.ofSeconds(30)),
+                durations(leaderboard.getTop(3)));
+        assertEquals(List.of(Duration.ofSeconds(20), Duration.ofSeconds(30), Duration.ofSeconds(40)),
+                durations(leaderboard.getTop(TimeWindow.MONTH, 10)));
+        assertEquals(List.of(Duration.ofSeconds(30), Duration.ofSeconds(40), Duration.ofSeconds(50)),
+                durations(leaderboard.getTop(TimeWindow.WEEK, 10)));
+        assertEquals(List.of(Duration.ofSeconds(40), Duration.ofSeconds(50)),
+                durations(leaderboard.getTop(TimeWindow.DAY, 10)));
+        assertTrue(leaderboard.checkConsistency());
+
+        leaderboard.record(result(45, now));
+        assertEquals(List.of(Duration.ofSeconds(40), Duration.ofSeconds(45), Duration.ofSeconds(50)),
+                durations(leaderboard.getTop(TimeWindow.DAY, 10)));
+        assertEquals(List.of(Duration.ofSeconds(30), Duration.ofSeconds(40), Duration.ofSeconds(45)),
+                durations(leaderboard.getTop(TimeWindow.WEEK, 10)));
+        assertTrue(leaderboard.checkConsistency());
+
+        int queries = dao.queries;
+        clock.set(now.plusDays(1));
+        assertTrue(leaderboard.getTop(TimeWindow.DAY, 10).isEmpty());
+        assertEquals(3, leaderboard.getTop(TimeWindow.WEEK, 10).size());
+        leaderboard.record(result(60, now.plusDays(1)));
+        assertEquals(List.of(Duration.ofSeconds(60)), durations(leaderboard.getTop(TimeWindow.DAY, 10)));
+        clock.set(now.plusDays(5));
+        assertTrue(leaderboard.getTop(TimeWindow.WEEK, 10).isEmpty());
+        assertEquals(3, leaderboard.getTop(TimeWindow.MONTH, 10).size());
+        assertEquals(queries, dao.queries);
+        assertTrue(leaderboard.checkConsistency());
+    }
+
+}
@@ -0,0 +1,53 @@
+package rollingcubes.results;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.state.Direction;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveLogTest {
+
+    @Test
+    void testRoundTrip() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int size : new int[] {0, 1, 3, 4, 5, 127, 128, 1000}) {
+            MoveLog log = new MoveLog();
+            Direction[] directions = new Direction[size];
+            for (int i = 0; i < size; ++i) {
+                directions[i] = Direction.values()[random.nextInt(4)];
+                log.add(directions[i]);
+            }
+            byte[] bytes = log.toByteArray();
+            assertEquals(size, MoveLog.sizeOf(bytes));
+            MoveLog decoded = MoveLog.of(bytes);
+            assertEquals(size, decoded.size());
+            for (int i = 0; i < size; ++i) {
+                assertEquals(directions[i], decoded.get(i));
+                assertEquals(directions[i].ordinal(), MoveLog.directionOf(bytes, size, i));
+            }
+        }
+    }
+
+    @Test
+    void testToByteArray() {
+        MoveLog log = new MoveLog();
+        log.add(Direction.RIGHT);
+        log.add(Direction.DOWN);
+        log.add(Direction.LEFT);
+        log.add(Direction.UP);
+        log.add(Direction.LEFT);
+        assertArrayEquals(new byte[] {5, (byte) 0b00_11_10_01, 0b11}, log.toByteArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(5));
+    }
+
+    @Test
+    void testOf_Invalid() {
+        assertEquals(-1, MoveLog.sizeOf(new byte[0]));
+        assertEquals(-1, MoveLog.sizeOf(new byte[] {5, 0}));
+        assertEquals(-1, MoveLog.sizeOf(new byte[] {(byte) 0x80}));
+        assertThrows(IllegalArgumentException.class, () -> MoveLog.of(new byte[] {1}));
+    }
+
+}
@@ -0,0 +1,108 @@
+package rollingcubes.results;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStatsDaoTest {
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private GameResultDao gameResultDao;
+
+    private PlayerStatsDao playerStatsDao;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("rolling-cubes-test");
+        em = emf.createEntityManager();
+        playerStatsDao = new PlayerStatsDao();
+        playerStatsDao.setEntityManager(em);
+        gameResultDao = new GameResultDao();
+        gameResultDao.setEntityManager(em);
+        gameResultDao.setPlayerStatsDao(playerStatsDao);
+    }
+
+    @AfterEach
+    void tearDown() {
+        em.close();
+        emf.close();
+    }
+
+    private static GameResult result(String player, boolean solved, int steps, int seconds) {
+        return GameResult.builder()
+                .player(player)
+                .solved(solved)
+                .steps(steps)
+                .duration(Duration.ofSeconds(seconds))
+                .build();
+    }
+
+    private void persistAll(List<GameResult> results) {
+        em.getTransaction().begin();
+        gameResultDao.persistAll(results);
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @Test
+    void testRecord() {
+        persistAll(List.of(result("anna", true, 40, 100), result("bela", false, 10, 20),
+                result("anna", false, 5, 10)));
+        persistAll(List.of(result("anna", true, 60, 50), result("anna", true, 50, 300)));
+        PlayerStats anna = playerStatsDao.find("anna").orElseThrow();
+        assertEquals(4, anna.getGamesPlayed());
+        assertEquals(3, anna.getGamesSolved());
+        assertEquals(0.75, anna.getSolveRate(), 1e-9);
+        assertEquals(50.0, anna.getAverageSteps(), 1e-9);
+        assertEquals(Duration.ofSeconds(50), anna.getBestDuration());
+        assertEquals(Duration.ofSeconds(100), anna.getMedianDuration());
+        PlayerStats bela = playerStatsDao.find("bela").orElseThrow();
+        assertEquals(1, bela.getGamesPlayed());
+        assertNull(bela.getBestDuration());
+        assertNull(bela.getMedianDuration());
+        assertEquals(List.of("anna", "bela"), playerStatsDao.findMostActive(10).stream()
+                .map(PlayerStats::getPlayer)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRebuildIfInconsistent() {
+        List<GameResult> results = new ArrayList<>();
+        for (int i = 0; i < 2500; ++i) {
+            results.add(result("player" + i % 7, i % 4 != 0, i % 90, 30 + i % 600));
+        }
+        persistAll(results);
+        List<PlayerStats> incremental = playerStatsDao.findMostActive(10);
+        em.clear();
+        em.getTransaction().begin();
+        assertFalse(playerStatsDao.rebuildIfInconsistent());
+        em.createQuery("DELETE FROM PlayerStats s WHERE s.player = 'player3'").executeUpdate();
+        assertTrue(playerStatsDao.rebuildIfInconsistent());
+        em.getTransaction().commit();
+        em.clear();
+        List<PlayerStats> rebuilt = playerStatsDao.findMostActive(10);
+        assertEquals(7, rebuilt.size());
+        for (int i = 0; i < rebuilt.size(); ++i) {
+            assertEquals(incremental.get(i).getPlayer(), rebuilt.get(i).getPlayer());
+            assertEquals(incremental.get(i).getGamesPlayed(), rebuilt.get(i).getGamesPlayed());
+            assertEquals(incremental.get(i).getGamesSolved(), rebuilt.get(i).getGamesSolved());
+            assertEquals(incremental.get(i).getTotalSteps(), rebuilt.get(i).getTotalSteps());
+            assertEquals(incremental.get(i).getBestDuration(), rebuilt.get(i).getBestDuration());
+            assertEquals(incremental.get(i).getMedianDuration(), rebuilt.get(i).getMedianDuration());
+        }
+    }
+
+}
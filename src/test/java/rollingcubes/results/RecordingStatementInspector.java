@@ -0,0 +1,34 @@
+package rollingcubes.results;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Statement inspector remembering the last SQL statement executed by Hibernate
+ * and counting the sequence calls.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static volatile String lastSql;
+
+    private static final AtomicInteger sequenceCalls = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        lastSql = sql;
+        if (sql.contains("hibernate_sequence")) {
+            sequenceCalls.incrementAndGet();
+        }
+        return sql;
+    }
+
+    static int getSequenceCalls() {
+        return sequenceCalls.get();
+    }
+
+    static String getLastSql() {
+        return lastSql;
+    }
+
+}
@@ -0,0 +1,202 @@
+package rollingcubes.results.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rollingcubes.results.GameResult;
+import util.jpa.SchemaMigrator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<GameResult> results(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        ZonedDateTime created = ZonedDateTime.now().minusYears(1).truncatedTo(ChronoUnit.MICROS);
+        List<GameResult> results = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < count; ++i) {
+            id += 1 + random.nextInt(3);
+            created = created.plusNanos(random.nextLong(600_000_000_000L) / 1000 * 1000);
+            boolean solved = random.nextInt(4) != 0;
+            results.add(GameResult.builder()
+                    .id(id)
+                    .player("player" + random.nextInt(20))
+                    .solved(solved)
+                    .steps(random.nextInt(500))
+                    .duration(Duration.ofMillis(random.nextInt(3_600_000)))
+                    .created(created)
+                    .startState(random.nextBoolean() ? random.nextLong(1L << 52) : null)
+                    .moves(solved ? new byte[]{(byte) i, 1, 2} : null)
+                    .build());
+        }
+        return results;
+    }
+
+    private static List<GameResult> readAll(Path path) throws IOException {
+        List<GameResult> results = new ArrayList<>();
+        try (ResultArchiveReader reader = new ResultArchiveReader(path)) {
+            for (List<GameResult> block = reader.readBlock(); ! block.isEmpty(); block = reader.readBlock()) {
+                results.addAll(block);
+            }
+        }
+        return results;
+    }
+
+    private static void assertResultsEqual(List<GameResult> expected, List<GameResult> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            GameResult e = expected.get(i);
+            GameResult a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getPlayer(), a.getPlayer());
+            assertEquals(e.isSolved(), a.isSolved());
+            assertEquals(e.getSteps(), a.getSteps());
+            assertEquals(e.getDuration(), a.getDuration());
+            assertEquals(e.getCreated().toInstant(), a.getCreated().toInstant());
+            assertEquals(e.getStartState(), a.getStartState());
+            assertArrayEquals(e.getMoves(), a.getMoves());
+        }
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        List<GameResult> results = results(10_000);
+        Path path = directory.resolve("results.rtda");
+        try (ResultArchiveWriter writer = new ResultArchiveWriter(path, 1000)) {
+            for (GameResult result : results) {
+                writer.write(result);
+            }
+            assertEquals(10_000, writer.getCount());
+            writer.finish();
+        }
+        assertResultsEqual(results, readAll(path));
+        assertTrue(Files.size(path) < 30L * results.size(), "Archive size " + Files.size(path));
+    }
+
+    @Test
+    void testReadBlock_Corrupted() throws IOException {
+        Path path = directory.resolve("results.rtda");
+        try (ResultArchiveWriter writer = new ResultArchiveWriter(path)) {
+            for (GameResult result : results(100)) {
+                writer.write(result);
+            }
+            writer.finish();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x55}), 100);
+        }
+        IOException e = assertThrows(IOException.class, () -> readAll(path));
+        assertTrue(e.getMessage().startsWith("Checksum mismatch"), e.getMessage());
+    }
+
+    @Test
+    void testReadBlock_Truncated() throws IOException {
+        Path path = directory.resolve("results.rtda");
+        try (ResultArchiveWriter writer = new ResultArchiveWriter(path)) {
+            for (GameResult result : results(100)) {
+                writer.write(result);
+            }
+            writer.finish();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 4);
+        }
+        assertThrows(IOException.class, () -> readAll(path));
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> new ResultArchiveReader(path));
+    }
+
+    @Test
+    void testClose_Unfinished() throws IOException {
+        Path path = directory.resolve("results.rtda");
+        try (ResultArchiveWriter writer = new ResultArchiveWriter(path, 10)) {
+            for (GameResult result : results(25)) {
+                writer.write(result);
+            }
+        }
+        try (ResultArchiveReader reader = new ResultArchiveReader(path)) {
+            assertEquals(10, reader.readBlock().size());
+            assertEquals(10, reader.readBlock().size());
+            IOException e = assertThrows(IOException.class, reader::readBlock);
+            assertEquals("Truncated archive", e.getMessage());
+        }
+    }
+
+    @Test
+    void testExportTo_Failed() throws Exception {
+        Path path = directory.resolve("results.rtda");
+        try (Connection connection = connect("archive-failed")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE GameResult RENAME TO Archived");
+            }
+            assertThrows(SQLException.class, () -> ResultArchive.exportTo(connection, path));
+            assertFalse(Files.exists(path));
+        }
+    }
+
+    private static Connection connect(String name) throws Exception {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new SchemaMigrator().migrate(connection);
+        return connection;
+    }
+
+    private static long count(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM GameResult")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    void testExportImport() throws Exception {
+        List<GameResult> results = results(5000);
+        Path path = directory.resolve("results.rtda");
+        try (Connection source = connect("archive-source"); Connection target = connect("archive-target")) {
+            Path input = directory.resolve("input.rtda");
+            try (ResultArchiveWriter writer = new ResultArchiveWriter(input)) {
+                for (GameResult result : results) {
+                    writer.write(result);
+                }
+                writer.finish();
+            }
+            assertEquals(5000, ResultArchive.importFrom(source, input));
+            assertEquals(5000, ResultArchive.exportTo(source, path));
+            assertResultsEqual(results, readAll(path));
+
+            assertEquals(5000, ResultArchive.importFrom(target, path));
+            assertEquals(5000, ResultArchive.importFrom(target, path));
+            assertEquals(5000, count(target));
+            Path copy = directory.resolve("copy.rtda");
+            ResultArchive.exportTo(target, copy);
+            assertResultsEqual(results, readAll(copy));
+            try (Statement statement = target.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT NEXT VALUE FOR hibernate_sequence")) {
+                resultSet.next();
+                assertTrue(resultSet.getLong(1) - 50 >= results.get(results.size() - 1).getId());
+            }
+        }
+    }
+
+}
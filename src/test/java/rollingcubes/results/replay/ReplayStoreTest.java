@@ -0,0 +1,60 @@
+package rollingcubes.results.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rollingcubes.results.GameResult;
+import rollingcubes.results.MoveLog;
+import rollingcubes.state.PackedState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOpen() throws IOException {
+        ReplayTest.MutableClock clock = new ReplayTest.MutableClock();
+        ReplayStore store = new ReplayStore(directory.resolve("replays"), clock);
+        MoveLog moveLog = new MoveLog();
+        ReplayRecorder recorder = store.startRecording(PackedState.INITIAL);
+        List<Long> states = ReplayTest.play(recorder, moveLog, clock);
+        recorder.close();
+        GameResult result = GameResult.builder()
+                .startState(PackedState.INITIAL)
+                .moves(moveLog.toByteArray())
+                .duration(Duration.ofMinutes(1))
+                .replay(recorder.getPath().getFileName().toString())
+                .build();
+
+        Replay replay = store.open(result).orElseThrow();
+        assertEquals(states.size() - 1, replay.size());
+        assertEquals(states.get(states.size() - 1), replay.stateAt(replay.size()));
+        assertNotEquals(Duration.ofMinutes(1), replay.getDuration());
+
+        Files.delete(recorder.getPath());
+        replay = store.open(result).orElseThrow();
+        assertEquals(states.get(states.size() - 1), replay.stateAt(replay.size()));
+        assertEquals(Duration.ofMinutes(1), replay.getDuration());
+
+        result.setMoves(null);
+        assertTrue(store.open(result).isEmpty());
+    }
+
+    @Test
+    void testDiscard() throws IOException {
+        ReplayStore store = new ReplayStore(directory, new ReplayTest.MutableClock());
+        ReplayRecorder recorder = store.startRecording(PackedState.NEAR_GOAL);
+        assertTrue(Files.exists(recorder.getPath()));
+        recorder.discard();
+        assertFalse(Files.exists(recorder.getPath()));
+    }
+
+}
@@ -0,0 +1,144 @@
+package rollingcubes.results.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rollingcubes.results.MoveLog;
+import rollingcubes.state.PackedState;
+import rollingcubes.state.RollingCubesState;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+
+    private static final int MOVES = 100;
+
+    @TempDir
+    Path directory;
+
+    static class MutableClock extends Clock {
+
+        private volatile long millis;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+    }
+
+    /**
+     * Plays random moves from the initial state while recording them.
+     *
+     * @return the states after each move, starting with the initial state
+     */
+    static List<Long> play(ReplayRecorder recorder, MoveLog moveLog, MutableClock clock) {
+        SplittableRandom random = new SplittableRandom(42);
+        RollingCubesState state = new RollingCubesState(RollingCubesState.INITIAL);
+        state.addMoveListener(recorder);
+        state.addMoveListener(moveLog);
+        List<Long> states = new ArrayList<>(List.of(state.toPacked()));
+        long[] successors = new long[PackedState.MAX_SUCCESSORS];
+        while (states.size() <= MOVES) {
+            int count = PackedState.successors(state.toPacked(), successors);
+            int index = PackedState.getEmptyIndex(successors[random.nextInt(count)]);
+            clock.advance(states.size() * 10L);
+            state.rollToEmptySpace(index / PackedState.SIZE, index % PackedState.SIZE);
+            states.add(state.toPacked());
+        }
+        return states;
+    }
+
+    private List<Long> record(Path path) throws IOException {
+        MutableClock clock = new MutableClock();
+        try (ReplayRecorder recorder = new ReplayRecorder(path, PackedState.INITIAL, clock)) {
+            List<Long> states = play(recorder, new MoveLog(), clock);
+            assertEquals(MOVES, recorder.size());
+            return states;
+        }
+    }
+
+    @Test
+    void testRead() throws IOException {
+        Path path = directory.resolve("game" + ReplayStore.EXTENSION);
+        List<Long> states = record(path);
+        Replay replay = Replay.read(path);
+        assertEquals(MOVES, replay.size());
+        assertEquals(PackedState.INITIAL, replay.getStartState());
+        for (int i = 0; i <= MOVES; ++i) {
+            assertEquals(states.get(i), replay.stateAt(i));
+            assertEquals(Duration.ofMillis(5L * i * (i + 1)), replay.elapsedAt(i));
+        }
+        assertEquals(replay.elapsedAt(MOVES), replay.getDuration());
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.stateAt(MOVES + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.getDirection(MOVES));
+    }
+
+    @Test
+    void testRead_Truncated() throws IOException {
+        Path path = directory.resolve("game" + ReplayStore.EXTENSION);
+        List<Long> states = record(path);
+        long size = Files.size(path);
+        for (long length = size - 1; length > size - 12; --length) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(length);
+            }
+            Replay replay = Replay.read(path);
+            assertTrue(replay.size() < MOVES);
+            assertEquals(states.get(replay.size()), replay.stateAt(replay.size()));
+        }
+    }
+
+    @Test
+    void testRead_Invalid() throws IOException {
+        Path path = directory.resolve("invalid" + ReplayStore.EXTENSION);
+        Files.write(path, new byte[Replay.HEADER_SIZE]);
+        assertThrows(IOException.class, () -> Replay.read(path));
+    }
+
+    @Test
+    void testOf() throws IOException {
+        MoveLog moveLog = new MoveLog();
+        MutableClock clock = new MutableClock();
+        List<Long> states;
+        try (ReplayRecorder recorder = new ReplayRecorder(directory.resolve("game"), PackedState.INITIAL, clock)) {
+            states = play(recorder, moveLog, clock);
+        }
+        Replay replay = Replay.of(PackedState.INITIAL, moveLog.toByteArray(), Duration.ofSeconds(10));
+        assertEquals(MOVES, replay.size());
+        for (int i = 0; i <= MOVES; ++i) {
+            assertEquals(states.get(i), replay.stateAt(i));
+        }
+        assertEquals(moveLog.get(MOVES - 1), replay.getDirection(MOVES - 1));
+        assertEquals(Duration.ofMillis(100), replay.elapsedAt(1));
+        assertEquals(Duration.ofSeconds(10), replay.getDuration());
+    }
+
+}
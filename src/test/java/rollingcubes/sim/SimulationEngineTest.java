@@ -0,0 +1,42 @@
+package rollingcubes.sim;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.solver.DieDistanceHeuristic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTest {
+
+    @Test
+    void testRun_Optimal() throws InterruptedException {
+        SimulationReport report = new SimulationEngine(
+                () -> Policy.optimal(new DieDistanceHeuristic(), 1_000_000), 2, 100, 6, 42).run(500);
+        assertEquals(500, report.getGames());
+        assertEquals(500, report.getSolved());
+        assertEquals(1.0, report.getSolveRate());
+        for (int steps = 7; steps < report.getStepHistogram().length; ++steps) {
+            assertEquals(0, report.getStepHistogram()[steps]);
+        }
+        assertTrue(report.getStepPercentile(1.0) <= 6);
+        assertEquals(report.getMeanSteps() * report.getSolved(), report.getTotalMoves(), 1e-6);
+    }
+
+    @Test
+    void testRun_Deterministic() throws InterruptedException {
+        SimulationReport single = new SimulationEngine(Policy::random, 1, 50, 4, 7).run(1000);
+        SimulationReport parallel = new SimulationEngine(Policy::random, 4, 50, 4, 7).run(1000);
+        assertEquals(single.getSolved(), parallel.getSolved());
+        assertArrayEquals(single.getStepHistogram(), parallel.getStepHistogram());
+        assertEquals(single.getTotalMoves(), parallel.getTotalMoves());
+        assertTrue(single.getSolved() < 1000);
+    }
+
+    @Test
+    void testRun_StepLimit() throws InterruptedException {
+        DieDistanceHeuristic heuristic = new DieDistanceHeuristic();
+        SimulationReport report = new SimulationEngine(() -> Policy.greedy(heuristic), 2, 0, 10, 1).run(100);
+        assertEquals(0, report.getTotalMoves());
+        assertEquals(report.getSolved(), report.getStepHistogram()[0]);
+    }
+
+}
@@ -0,0 +1,41 @@
+package rollingcubes.solver;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.state.Cube;
+import rollingcubes.state.PackedState;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DieDistanceTableTest {
+
+    @Test
+    void testGet() {
+        for (int index = 0; index < PackedState.CELLS; ++index) {
+            assertEquals(0, DieDistanceTable.get(index, Cube.EMPTY.getValue()));
+            assertEquals(0, DieDistanceTable.get(index, Cube.CUBE2.getValue()));
+        }
+        assertEquals(1, DieDistanceTable.get(0, Cube.CUBE1.getValue())); // rolled down
+        assertEquals(3, DieDistanceTable.get(13, Cube.CUBE1.getValue())); // can not be rolled down from the last row
+        assertEquals(1, DieDistanceTable.get(13, Cube.CUBE6.getValue())); // rolled up
+        assertEquals(3, DieDistanceTable.get(1, Cube.CUBE6.getValue())); // can not be rolled up from the first row
+        assertEquals(2, DieDistanceTable.get(5, Cube.CUBE3.getValue()));
+    }
+
+    @Test
+    void testGenerate() {
+        assertArrayEquals(DieDistanceTable.getTable(), DieDistanceTable.generate());
+        assertEquals(PackedState.CELLS * 8, DieDistanceTable.generate().length);
+    }
+
+    @Test
+    void testHeuristic() {
+        Heuristic heuristic = new DieDistanceHeuristic();
+        assertEquals(0, heuristic.estimate(PackedState.pack(new int[][] {
+                {2, 2, 2, 2},
+                {2, 0, 2, 2},
+                {2, 2, 2, 2},
+                {2, 2, 2, 2}})));
+        assertEquals(12 * 1 + 3 * 3, heuristic.estimate(PackedState.NEAR_GOAL));
+    }
+
+}
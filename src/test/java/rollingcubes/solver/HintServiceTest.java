@@ -0,0 +1,58 @@
+package rollingcubes.solver;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.state.PackedState;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HintServiceTest {
+
+    private static final int[][] ONE_MOVE_LEFT = {
+            {2, 2, 2, 2},
+            {2, 2, 2, 2},
+            {2, 2, 2, 0},
+            {2, 2, 2, 6}
+    };
+
+    @Test
+    void testRequestHint() throws Exception {
+        HintService service = new HintService(new TranspositionCache());
+        long packed = PackedState.pack(ONE_MOVE_LEFT);
+        CompletableFuture<Hint> hint = new CompletableFuture<>();
+        service.requestHint(packed, hint::complete).get(10, TimeUnit.SECONDS);
+        assertEquals(new Hint(new Move(3, 3), 1, true), hint.get());
+        AtomicReference<Hint> cached = new AtomicReference<>();
+        assertTrue(service.requestHint(packed, cached::set).isDone());
+        assertEquals(hint.get(), cached.get());
+    }
+
+    @Test
+    void testRequestHint_Opening() throws Exception {
+        TranspositionCache cache = new TranspositionCache();
+        HintService service = new HintService(cache);
+        CompletableFuture<Hint> hint = new CompletableFuture<>();
+        assertTrue(service.requestHint(PackedState.NEAR_GOAL, hint::complete).isDone());
+        assertTrue(hint.get().isOptimal());
+        assertEquals(HintService.OPENING_MOVES.length(), hint.get().getRemainingMoves());
+        assertEquals(hint.get().getRemainingMoves(), TranspositionCache.distanceOf(cache.get(PackedState.NEAR_GOAL)));
+
+        long packed = PackedState.rollToEmptySpace(PackedState.NEAR_GOAL, hint.get().getMove().getRow(),
+                hint.get().getMove().getCol());
+        CompletableFuture<Hint> next = new CompletableFuture<>();
+        service.requestHint(packed, next::complete).get(10, TimeUnit.SECONDS);
+        assertEquals(hint.get().getRemainingMoves() - 1, next.get().getRemainingMoves());
+        assertTrue(next.get().isOptimal());
+    }
+
+    @Test
+    void testRequestHint_Solved() {
+        HintService service = new HintService(new TranspositionCache());
+        long packed = PackedState.rollToEmptySpace(PackedState.pack(ONE_MOVE_LEFT), 3, 3);
+        assertTrue(service.requestHint(packed, hint -> fail()).isDone());
+    }
+
+}
@@ -0,0 +1,96 @@
+package rollingcubes.solver;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rollingcubes.state.PackedState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternDatabaseTest {
+
+    private static final int FIRST_ROW = 0x000F;
+
+    private static final int LAST_ROW = 0xF000;
+
+    private static final int[][] GOAL = {
+            {2, 2, 2, 2},
+            {2, 2, 2, 2},
+            {2, 2, 2, 2},
+            {2, 2, 2, 0}
+    };
+
+    @TempDir
+    static Path directory;
+
+    private static Path write(int cellMask) throws IOException {
+        Path path = directory.resolve(PatternDatabaseGenerator.fileName(cellMask));
+        if (Files.notExists(path)) {
+            new PatternDatabaseGenerator(cellMask).write(path);
+        }
+        return path;
+    }
+
+    @BeforeAll
+    static void generate() throws IOException {
+        write(FIRST_ROW);
+        write(LAST_ROW);
+    }
+
+    @Test
+    void testOpen() throws IOException {
+        PatternDatabase database = PatternDatabase.open(write(FIRST_ROW));
+        assertEquals(FIRST_ROW, database.getCellMask());
+        byte[] distance = new PatternDatabaseGenerator(FIRST_ROW).generate();
+        assertEquals(distance[(int) PatternDatabase.indexOf(PackedState.INITIAL, PatternDatabase.cellsOf(FIRST_ROW))],
+                database.get(PackedState.INITIAL));
+        assertEquals(0, database.get(PackedState.pack(GOAL)));
+        assertEquals(4, database.get(PackedState.NEAR_GOAL)); // each dice of the first row must be rolled
+    }
+
+    @Test
+    void testOpen_Invalid() throws IOException {
+        Path stale = directory.resolve("stale.pdb");
+        Files.copy(write(FIRST_ROW), stale);
+        try (FileChannel channel = FileChannel.open(stale, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(42).flip(), 8);
+        }
+        assertThrows(IOException.class, () -> PatternDatabase.open(stale));
+        Path truncated = directory.resolve("truncated.pdb");
+        Files.write(truncated, new byte[] {0x52, 0x43});
+        assertThrows(IOException.class, () -> PatternDatabase.open(truncated));
+    }
+
+    @Test
+    void testHeuristic() throws IOException {
+        Heuristic heuristic = new PatternDatabaseHeuristic(List.of(
+                PatternDatabase.open(write(FIRST_ROW)),
+                PatternDatabase.open(write(LAST_ROW))));
+        int[][] moves = {{2, 3}, {2, 2}, {1, 2}, {1, 1}, {2, 1}, {2, 2}, {3, 2}, {3, 1}, {3, 0}, {2, 0}, {1, 0}, {0, 0}};
+        long packed = PackedState.pack(GOAL);
+        for (int[] move : moves) {
+            packed = PackedState.rollToEmptySpace(packed, move[0], move[1]);
+            int optimal = new Solver().solve(packed).orElseThrow().getLength();
+            assertTrue(heuristic.estimate(packed) <= optimal);
+            assertTrue(heuristic.estimate(packed) >= new DieDistanceHeuristic().estimate(packed));
+            assertEquals(optimal, new Solver(heuristic, Solver.DEFAULT_MAX_NODES).solve(packed).orElseThrow().getLength());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PatternDatabaseHeuristic(List.of(
+                PatternDatabase.open(write(FIRST_ROW)),
+                PatternDatabase.open(write(FIRST_ROW)))));
+    }
+
+    @Test
+    void testOpenOrDefault() {
+        assertTrue(PatternDatabaseHeuristic.openOrDefault(directory.resolve("missing")) instanceof DieDistanceHeuristic);
+    }
+
+}
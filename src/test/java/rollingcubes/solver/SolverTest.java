@@ -0,0 +1,70 @@
+package rollingcubes.solver;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.state.PackedState;
+import rollingcubes.state.RollingCubesState;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverTest {
+
+    private static final int[][] GOAL = {
+            {2, 2, 2, 2},
+            {2, 2, 2, 2},
+            {2, 2, 2, 2},
+            {2, 2, 2, 0}
+    };
+
+    private static long scramble(int[][] moves) {
+        long packed = PackedState.pack(GOAL);
+        for (int[] move : moves) {
+            packed = PackedState.rollToEmptySpace(packed, move[0], move[1]);
+        }
+        return packed;
+    }
+
+    private static void assertSolves(long packed, List<Move> moves) {
+        for (Move move : moves) {
+            packed = PackedState.rollToEmptySpace(packed, move.getRow(), move.getCol());
+        }
+        assertTrue(PackedState.isSolved(packed));
+    }
+
+    @Test
+    void testSolve_Solved() {
+        Optional<Solution> solution = new Solver().solve(PackedState.pack(GOAL));
+        assertTrue(solution.isPresent());
+        assertEquals(0, solution.get().getLength());
+    }
+
+    @Test
+    void testSolve_OneMove() {
+        long packed = scramble(new int[][] {{2, 3}});
+        Solution solution = new Solver().solve(packed).orElseThrow();
+        assertEquals(List.of(new Move(3, 3)), solution.getMoves());
+        assertTrue(solution.getStatistics().getNodesExpanded() > 0);
+    }
+
+    @Test
+    void testSolve_Scrambled() {
+        long packed = scramble(new int[][] {{2, 3}, {2, 2}, {1, 2}, {1, 1}, {2, 1}, {2, 2}, {3, 2}, {3, 1}});
+        Solver solver = new Solver();
+        Solution solution = solver.solve(packed).orElseThrow();
+        assertTrue(solution.getLength() <= 8);
+        assertEquals(solution.getLength(), solver.getLowerBound());
+        assertSolves(packed, solution.getMoves());
+        assertEquals(solution.getLength(), new Solver().solve(RollingCubesState.fromPacked(packed)).orElseThrow().getLength());
+    }
+
+    @Test
+    void testSolve_NodeLimit() {
+        Solver solver = new Solver(new DieDistanceHeuristic(), 1);
+        assertTrue(solver.solve(PackedState.INITIAL).isEmpty());
+        assertTrue(solver.getLowerBound() >= new DieDistanceHeuristic().estimate(PackedState.INITIAL));
+        assertNotNull(solver.getStatistics());
+    }
+
+}
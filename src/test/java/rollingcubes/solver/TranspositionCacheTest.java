@@ -0,0 +1,60 @@
+package rollingcubes.solver;
+
+import org.junit.jupiter.api.Test;
+import rollingcubes.state.PackedState;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionCacheTest {
+
+    @Test
+    void testGetPut() {
+        TranspositionCache cache = new TranspositionCache();
+        assertEquals(TranspositionCache.MISS, cache.get(PackedState.NEAR_GOAL));
+        cache.put(PackedState.NEAR_GOAL, 44, new Move(2, 1));
+        int entry = cache.get(PackedState.NEAR_GOAL);
+        assertEquals(44, TranspositionCache.distanceOf(entry));
+        assertEquals(new Move(2, 1), TranspositionCache.moveOf(entry));
+        cache.put(PackedState.NEAR_GOAL, 43, new Move(3, 3));
+        entry = cache.get(PackedState.NEAR_GOAL);
+        assertEquals(43, TranspositionCache.distanceOf(entry));
+        assertEquals(new Move(3, 3), TranspositionCache.moveOf(entry));
+        assertEquals(new CacheStatistics(2, 1, 0, 1, cache.getStatistics().getCapacity()), cache.getStatistics());
+        assertEquals(2.0 / 3, cache.getStatistics().getHitRatio());
+    }
+
+    @Test
+    void testEviction() {
+        TranspositionCache cache = new TranspositionCache(TranspositionCache.ENTRY_BYTES * TranspositionCache.WAYS);
+        assertEquals(TranspositionCache.WAYS, cache.getStatistics().getCapacity());
+        for (int i = 0; i < TranspositionCache.WAYS; ++i) {
+            cache.put(i, i, new Move(0, 0));
+        }
+        cache.get(0);
+        cache.put(TranspositionCache.WAYS, 0, new Move(0, 0));
+        assertNotEquals(TranspositionCache.MISS, cache.get(0));
+        assertEquals(TranspositionCache.MISS, cache.get(1));
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getEvictions());
+        assertEquals(TranspositionCache.WAYS, statistics.getSize());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionCache(TranspositionCache.ENTRY_BYTES));
+    }
+
+    @Test
+    void testConcurrentAccess() {
+        TranspositionCache cache = new TranspositionCache(1 << 16);
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            cache.put(i, i % 100, new Move(i % 4, i % 3));
+            int entry = cache.get(i);
+            if (entry != TranspositionCache.MISS) {
+                assertEquals(i % 100, TranspositionCache.distanceOf(entry));
+            }
+        });
+        CacheStatistics statistics = cache.getStatistics();
+        assertTrue(statistics.getSize() <= statistics.getCapacity());
+        assertEquals(100_000, statistics.getHits() + statistics.getMisses());
+    }
+
+}
@@ -0,0 +1,104 @@
+package rollingcubes.state;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedStateTest {
+
+    @Test
+    void testPackUnpack() {
+        assertArrayEquals(RollingCubesState.INITIAL, PackedState.unpack(PackedState.INITIAL));
+        assertArrayEquals(RollingCubesState.NEAR_GOAL, PackedState.unpack(PackedState.NEAR_GOAL));
+        int[][] a = new int[][] {
+                {1, 2, 3, 4},
+                {5, 6, 1, 2},
+                {3, 4, 0, 5},
+                {6, 1, 2, 3}
+        };
+        long packed = PackedState.pack(a);
+        assertArrayEquals(a, PackedState.unpack(packed));
+        assertEquals(2, PackedState.getEmptyRow(packed));
+        assertEquals(2, PackedState.getEmptyCol(packed));
+        assertEquals(packed, new RollingCubesState(a).toPacked());
+        assertEquals(new RollingCubesState(a), RollingCubesState.fromPacked(packed));
+        assertThrows(IllegalArgumentException.class, () -> PackedState.pack(new int[][] {
+                {1, 1, 1, 1},
+                {1, 1, 1, 1},
+                {1, 1, 1, 1},
+                {1, 1, 1, 1}})
+        );
+    }
+
+    @Test
+    void testIsValid() {
+        assertTrue(PackedState.isValid(PackedState.INITIAL));
+        assertTrue(PackedState.isValid(PackedState.NEAR_GOAL));
+        int emptyIndex = PackedState.getEmptyIndex(PackedState.INITIAL);
+        int cubeIndex = emptyIndex == 0 ? 1 : 0;
+        assertFalse(PackedState.isValid(PackedState.INITIAL | 0b111L << (cubeIndex * 3)));
+        assertFalse(PackedState.isValid(PackedState.INITIAL & ~(0b111L << (cubeIndex * 3))));
+        assertFalse(PackedState.isValid(PackedState.INITIAL | 0b010L << (emptyIndex * 3)));
+        assertFalse(PackedState.isValid(PackedState.INITIAL + (1L << 48)));
+        assertFalse(PackedState.isValid(PackedState.INITIAL | 1L << 60));
+        assertFalse(PackedState.isValid(-1L));
+    }
+
+    @Test
+    void testIsSolved() {
+        assertFalse(PackedState.isSolved(PackedState.INITIAL));
+        assertTrue(PackedState.isSolved(PackedState.pack(new int[][] {
+                {2, 2, 2, 2},
+                {2, 0, 2, 2},
+                {2, 2, 2, 2},
+                {2, 2, 2, 2}})));
+        assertFalse(PackedState.isSolved(PackedState.pack(new int[][] {
+                {2, 2, 2, 2},
+                {2, 0, 2, 2},
+                {2, 2, 2, 2},
+                {2, 2, 2, 6}})));
+    }
+
+    @Test
+    void testCanRollToEmptySpace() {
+        long packed = PackedState.INITIAL;
+        RollingCubesState state = new RollingCubesState();
+        for (int row = -1; row <= 4; ++row) {
+            for (int col = -1; col <= 4; ++col) {
+                assertEquals(state.canRollToEmptySpace(row, col), PackedState.canRollToEmptySpace(packed, row, col));
+            }
+        }
+    }
+
+    @Test
+    void testGetRollDirection() {
+        long packed = PackedState.INITIAL;
+        assertEquals(Direction.RIGHT, PackedState.getRollDirection(packed, 0, 0));
+        assertEquals(Direction.UP, PackedState.getRollDirection(packed, 1, 1));
+        assertEquals(Direction.LEFT, PackedState.getRollDirection(packed, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> PackedState.getRollDirection(packed, 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> PackedState.getRollDirection(packed, 2, 2));
+        long down = PackedState.NEAR_GOAL;
+        assertEquals(Direction.DOWN, PackedState.getRollDirection(down, 2, 1));
+    }
+
+    @Test
+    void testRollToEmptySpace() {
+        RollingCubesState state = new RollingCubesState();
+        long packed = state.toPacked();
+        int[][] moves = {{1, 1}, {1, 2}, {0, 2}, {0, 1}, {1, 1}, {2, 1}, {2, 0}};
+        for (int[] move : moves) {
+            state.rollToEmptySpace(move[0], move[1]);
+            packed = PackedState.rollToEmptySpace(packed, move[0], move[1]);
+            assertEquals(state.toPacked(), packed);
+        }
+        long finalPacked = packed;
+        assertThrows(IllegalArgumentException.class, () -> PackedState.rollToEmptySpace(finalPacked, 0, 0));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals(new RollingCubesState().toString(), PackedState.toString(PackedState.INITIAL));
+    }
+
+}
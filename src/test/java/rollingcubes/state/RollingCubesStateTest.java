@@ -2,6 +2,9 @@ package rollingcubes.state;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class RollingCubesStateTest {
@@ -128,6 +131,23 @@ class RollingCubesStateTest {
         assertEquals(cube, state.getTray()[0][1]); // the cube rolled now should be at (0, 1) again in its original orientation
     }
 
+    @Test
+    void testMoveListener() {
+        RollingCubesState state = new RollingCubesState();
+        List<MoveEvent> events = new ArrayList<>();
+        MoveListener listener = events::add;
+        state.addMoveListener(listener);
+        RollingCubesState copy = state.clone();
+        assertEquals(copy, state);
+        state.rollToEmptySpace(0, 0);
+        assertEquals(List.of(new MoveEvent(0, 0, Direction.RIGHT, Cube.CUBE1, Cube.CUBE4)), events);
+        copy.rollToEmptySpace(0, 0);
+        assertEquals(1, events.size());
+        state.removeMoveListener(listener);
+        state.rollToEmptySpace(0, 1);
+        assertEquals(1, events.size());
+    }
+
     @Test
     void testToString() {
         RollingCubesState state = new RollingCubesState();
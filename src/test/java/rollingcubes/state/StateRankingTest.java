@@ -0,0 +1,48 @@
+package rollingcubes.state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateRankingTest {
+
+    @Test
+    void testRank() {
+        assertEquals(0, StateRanking.rank(PackedState.pack(new int[][] {
+                {0, 1, 1, 1},
+                {1, 1, 1, 1},
+                {1, 1, 1, 1},
+                {1, 1, 1, 1}})));
+        assertEquals(StateRanking.STATE_COUNT - 1, StateRanking.rank(PackedState.pack(new int[][] {
+                {6, 6, 6, 6},
+                {6, 6, 6, 6},
+                {6, 6, 6, 6},
+                {6, 6, 6, 0}})));
+        assertEquals(StateRanking.rank(PackedState.INITIAL), StateRanking.rank(new RollingCubesState()));
+        assertEquals(16 * 470184984576L, StateRanking.STATE_COUNT);
+    }
+
+    @Test
+    void testUnrank() {
+        assertEquals(PackedState.INITIAL, StateRanking.unrank(StateRanking.rank(PackedState.INITIAL)));
+        assertEquals(PackedState.NEAR_GOAL, StateRanking.unrank(StateRanking.rank(PackedState.NEAR_GOAL)));
+        assertThrows(IllegalArgumentException.class, () -> StateRanking.unrank(-1));
+        assertThrows(IllegalArgumentException.class, () -> StateRanking.unrank(StateRanking.STATE_COUNT));
+        for (long rank : new long[] {0, 1, 5, 6, 123456789L, StateRanking.STATE_COUNT - 1}) {
+            assertEquals(rank, StateRanking.rank(StateRanking.unrank(rank)));
+        }
+    }
+
+    @Test
+    void testRandom() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1000; ++i) {
+            long packed = StateRanking.random(random);
+            assertEquals(packed, new RollingCubesState(PackedState.unpack(packed)).toPacked());
+            assertEquals(packed, StateRanking.unrank(StateRanking.rank(packed)));
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package util.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.multibindings.ProvidesIntoSet;
+import com.google.inject.persist.PersistService;
+import org.junit.jupiter.api.Test;
+import rollingcubes.results.GameResult;
+import rollingcubes.results.GameResultDao;
+import rollingcubes.results.PlayerStats;
+import rollingcubes.results.PlayerStatsDao;
+import util.jpa.ConnectionPoolMonitor;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceModuleTest {
+
+    private static GameResult result(String player) {
+        return GameResult.builder()
+                .player(player)
+                .solved(true)
+                .duration(Duration.ofSeconds(10))
+                .created(ZonedDateTime.now())
+                .build();
+    }
+
+    @Test
+    void testStartupTasksRunBeforeConcurrentWrites() throws Exception {
+        AtomicBoolean rebuilt = new AtomicBoolean();
+        Injector injector = Guice.createInjector(new PersistenceModule("rolling-cubes-test"), new AbstractModule() {
+            @ProvidesIntoSet
+            StartupTask rebuild(GameResultDao gameResultDao, PlayerStatsDao playerStatsDao) {
+                return () -> {
+                    gameResultDao.persist(result("player0"));
+                    playerStatsDao.rebuild();
+                    rebuilt.set(true);
+                };
+            }
+        });
+        try {
+            GameResultDao dao = injector.getInstance(GameResultDao.class);
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                String player = "player" + i;
+                writes.add(CompletableFuture.runAsync(() -> {
+                    for (int j = 0; j < 5; ++j) {
+                        dao.persistAll(List.of(result(player), result(player)));
+                        assertTrue(rebuilt.get());
+                    }
+                }));
+            }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+            List<PlayerStats> stats = injector.getInstance(PlayerStatsDao.class).findMostActive(10);
+            assertEquals(41, stats.stream().mapToLong(PlayerStats::getGamesPlayed).sum());
+            assertEquals(41, dao.findAll().size());
+        } finally {
+            injector.getInstance(JpaInitializer.class).whenReady().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            injector.getInstance(PersistService.class).stop();
+        }
+    }
+
+    @Test
+    void testFirstDaoCallAwaitsReadiness() throws Exception {
+        Injector injector = Guice.createInjector(new PersistenceModule("rolling-cubes-test"));
+        try {
+            GameResultDao dao = injector.getInstance(GameResultDao.class);
+            dao.persist(GameResult.builder()
+                    .player("player")
+                    .solved(true)
+                    .duration(Duration.ofSeconds(10))
+                    .created(ZonedDateTime.now())
+                    .build());
+            assertTrue(injector.getInstance(JpaInitializer.class).isReady());
+            assertEquals(1, dao.findBest(10).size());
+            assertTrue(injector.getInstance(ConnectionPoolMonitor.class).getMetrics().getAcquired() >= 2);
+        } finally {
+            injector.getInstance(JpaInitializer.class).whenReady().toCompletableFuture().get(10, TimeUnit.SECONDS);
+            injector.getInstance(PersistService.class).stop();
+        }
+    }
+
+}
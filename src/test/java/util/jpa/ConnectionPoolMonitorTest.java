@@ -0,0 +1,39 @@
+package util.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolMonitorTest {
+
+    @Test
+    void testGetMetrics() {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("rolling-cubes-test");
+        try {
+            ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(() -> emf);
+            PoolMetrics initial = monitor.getMetrics();
+            assertEquals(0, initial.getActive());
+            IntStream.range(0, 20).parallel().forEach(i -> {
+                EntityManager em = emf.createEntityManager();
+                try {
+                    em.createNativeQuery("SELECT 1").getSingleResult();
+                } finally {
+                    em.close();
+                }
+            });
+            PoolMetrics metrics = monitor.getMetrics();
+            assertEquals(initial.getAcquired() + 20, metrics.getAcquired());
+            assertEquals(0, metrics.getActive());
+            assertTrue(metrics.getIdle() > 0);
+            assertTrue(metrics.getMaxWaitTime().compareTo(metrics.getMeanWaitTime()) >= 0);
+        } finally {
+            emf.close();
+        }
+    }
+
+}
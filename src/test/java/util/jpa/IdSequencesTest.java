@@ -0,0 +1,46 @@
+package util.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdSequencesTest {
+
+    private static long nextValue(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT NEXT VALUE FOR hibernate_sequence")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    void testAlign() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:id-sequences", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SEQUENCE hibernate_sequence");
+            }
+            long used = nextValue(connection);
+            assertTrue(IdSequences.align(connection, 50));
+            assertEquals(used + 50, nextValue(connection));
+            assertFalse(IdSequences.align(connection, 50));
+            assertTrue(IdSequences.align(connection, 10));
+            assertEquals(used + 60, nextValue(connection));
+            assertEquals(used + 70, nextValue(connection));
+        }
+    }
+
+    @Test
+    void testAlign_NoSequence() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:id-sequences-missing", "sa", "")) {
+            assertThrows(SQLException.class, () -> IdSequences.align(connection, 50));
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package util.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetSpliteratorTest {
+
+    private static final List<Integer> VALUES = IntStream.range(0, 25).boxed().collect(Collectors.toList());
+
+    private final List<Integer> requested = new ArrayList<>();
+
+    private List<Integer> page(Integer last, int pageSize) {
+        requested.add(last);
+        int from = last == null ? 0 : last + 1;
+        return VALUES.subList(Math.min(from, VALUES.size()), Math.min(from + pageSize, VALUES.size()));
+    }
+
+    @Test
+    void testStream() {
+        List<Integer> actual = StreamSupport.stream(new KeysetSpliterator<Integer>(last -> page(last, 10), 10), false)
+                .collect(Collectors.toList());
+        assertEquals(VALUES, actual);
+        assertEquals(List.of(-1, 9, 19), requested.stream().map(last -> last == null ? -1 : last)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStream_Lazy() {
+        List<Integer> actual = StreamSupport.stream(new KeysetSpliterator<Integer>(last -> page(last, 10), 10), false)
+                .limit(10)
+                .collect(Collectors.toList());
+        assertEquals(VALUES.subList(0, 10), actual);
+        assertEquals(1, requested.size());
+    }
+
+    @Test
+    void testStream_ExactPages() {
+        assertEquals(VALUES, StreamSupport.stream(new KeysetSpliterator<Integer>(last -> page(last, 5), 5), false)
+                .collect(Collectors.toList()));
+        assertEquals(6, requested.size());
+    }
+
+}
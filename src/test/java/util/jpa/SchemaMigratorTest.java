@@ -0,0 +1,80 @@
+package util.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+
+    private static Connection connect(String name) throws Exception {
+        return DriverManager.getConnection("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void assertValid(String name) {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("rolling-cubes-test", Map.of(
+                "javax.persistence.jdbc.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "javax.persistence.schema-generation.database.action", "none",
+                "hibernate.hbm2ddl.auto", "validate",
+                "hibernate.hikari.poolName", name));
+        emf.close();
+    }
+
+    @Test
+    void testMigrate_EmptyDatabase() throws Exception {
+        try (Connection connection = connect("migrate-empty")) {
+            SchemaMigrator migrator = new SchemaMigrator();
+            assertEquals(7, migrator.migrate(connection));
+            assertEquals(7, migrator.currentVersion(connection));
+            assertEquals(0, migrator.migrate(connection));
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT increment FROM information_schema.sequences "
+                         + "WHERE sequence_name = 'HIBERNATE_SEQUENCE'")) {
+                assertTrue(resultSet.next());
+                assertEquals(50, resultSet.getLong(1));
+            }
+        }
+        assertValid("migrate-empty");
+    }
+
+    @Test
+    void testMigrate_Baseline() throws Exception {
+        try (Connection connection = connect("migrate-baseline")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SEQUENCE hibernate_sequence");
+                statement.execute("CREATE TABLE GameResult (id BIGINT NOT NULL PRIMARY KEY, "
+                        + "created TIMESTAMP NOT NULL, duration BIGINT NOT NULL, player VARCHAR(255) NOT NULL, "
+                        + "solved BOOLEAN NOT NULL, steps INTEGER NOT NULL)");
+                statement.execute("INSERT INTO GameResult VALUES (NEXT VALUE FOR hibernate_sequence, "
+                        + "CURRENT_TIMESTAMP, 1000, 'player', TRUE, 10)");
+            }
+            assertEquals(6, new SchemaMigrator().migrate(connection));
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT NEXT VALUE FOR hibernate_sequence")) {
+                resultSet.next();
+                assertEquals(51, resultSet.getLong(1));
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT player, startState FROM GameResult")) {
+                assertTrue(resultSet.next());
+                assertEquals("player", resultSet.getString(1));
+            }
+        }
+        assertValid("migrate-baseline");
+    }
+
+    @Test
+    void testStatements() {
+        assertEquals(List.of("CREATE TABLE t (a INT)", "INSERT INTO t VALUES (1)"),
+                SchemaMigrator.statements("-- comment;\nCREATE TABLE t (a INT);\n\nINSERT INTO t VALUES (1);\n"));
+    }
+
+}